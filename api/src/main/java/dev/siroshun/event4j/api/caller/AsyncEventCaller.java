@@ -26,11 +26,16 @@ package dev.siroshun.event4j.api.caller;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
-record AsyncEventCaller<E>(@NotNull EventCaller<E> eventCaller, @NotNull Executor executor) implements EventCaller<E> {
+record AsyncEventCaller<E>(@NotNull EventCaller<E> eventCaller, @NotNull Executor executor) implements CompletableEventCaller<E> {
 
     @Override
     public void call(@NotNull E event) {
@@ -44,4 +49,59 @@ record AsyncEventCaller<E>(@NotNull EventCaller<E> eventCaller, @NotNull Executo
         Objects.requireNonNull(callback, "callback cannot be null.");
         this.executor.execute(() -> this.eventCaller.call(event, callback));
     }
+
+    @Override
+    public boolean hasListeners(@NotNull Class<? extends E> eventClass) {
+        return this.eventCaller.hasListeners(eventClass);
+    }
+
+    @Override
+    public void callAll(@NotNull Collection<? extends E> events) {
+        Objects.requireNonNull(events, "events cannot be null.");
+        this.submitAll(List.copyOf(events));
+    }
+
+    @Override
+    public void callAll(@NotNull E @NotNull [] events) {
+        Objects.requireNonNull(events, "events cannot be null.");
+        this.submitAll(List.of(events));
+    }
+
+    @Override
+    public <T extends E> @NotNull CompletableFuture<T> callAsync(@NotNull T event) {
+        Objects.requireNonNull(event, "event cannot be null.");
+        return this.supply(() -> {
+            this.eventCaller.call(event);
+            return event;
+        });
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> callAllAsync(@NotNull Collection<? extends E> events) {
+        Objects.requireNonNull(events, "events cannot be null.");
+        var copied = List.<E>copyOf(events);
+
+        if (copied.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return this.supply(() -> {
+            this.eventCaller.callAll(copied);
+            return null;
+        });
+    }
+
+    private void submitAll(@NotNull List<E> events) {
+        if (!events.isEmpty()) {
+            this.executor.execute(() -> this.eventCaller.callAll(events));
+        }
+    }
+
+    private <T> @NotNull CompletableFuture<T> supply(@NotNull Supplier<T> supplier) {
+        try {
+            return CompletableFuture.supplyAsync(supplier, this.executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * An {@link EventCaller} that calls events on the {@link Executor} with a limited number of events in flight.
+ * <p>
+ * Events in flight are the events that have been accepted but not yet called completely, including the events that are waiting for the {@link Executor}.
+ * When the limit is reached, the next event is handled by the {@link OverflowPolicy}.
+ * Events passed to {@link #callAll(java.util.Collection)} are counted individually.
+ *
+ * @param <E> the event type
+ * @see EventCaller#boundedCaller(EventCaller, Executor, int, OverflowPolicy)
+ */
+public interface BoundedEventCaller<E> extends EventCaller<E> {
+
+    /**
+     * Gets the maximum number of events in flight.
+     *
+     * @return the maximum number of events in flight
+     */
+    int maxInFlight();
+
+    /**
+     * Gets the current number of events in flight.
+     *
+     * @return the current number of events in flight
+     */
+    int inFlight();
+
+    /**
+     * Gets the {@link OverflowPolicy} of this caller.
+     *
+     * @return the {@link OverflowPolicy}
+     */
+    @NotNull OverflowPolicy overflowPolicy();
+
+    /**
+     * Gets the number of events that are dropped by {@link OverflowPolicy#DROP_NEWEST} or {@link OverflowPolicy#DROP_OLDEST}.
+     *
+     * @return the number of dropped events
+     */
+    long droppedEvents();
+
+    /**
+     * Gets the number of events whose callers have been blocked by {@link OverflowPolicy#BLOCK}.
+     *
+     * @return the number of blocked events
+     */
+    long blockedEvents();
+
+    /**
+     * Gets the number of events that are called on the calling thread by {@link OverflowPolicy#CALLER_RUNS}.
+     *
+     * @return the number of events called on the calling thread
+     */
+    long callerRunsEvents();
+
+    /**
+     * Gets the number of events that are rejected by {@link OverflowPolicy#FAIL_FAST}.
+     *
+     * @return the number of rejected events
+     */
+    long rejectedEvents();
+
+    /**
+     * Policies for handling events when the number of events in flight reaches the limit.
+     */
+    enum OverflowPolicy {
+
+        /**
+         * An {@link OverflowPolicy} that blocks the calling thread until an event in flight is completed.
+         */
+        BLOCK,
+
+        /**
+         * An {@link OverflowPolicy} that drops the new event.
+         */
+        DROP_NEWEST,
+
+        /**
+         * An {@link OverflowPolicy} that drops the oldest event that is waiting for the {@link Executor}, and accepts the new event.
+         * <p>
+         * If all events in flight are being called, the new event is dropped instead.
+         */
+        DROP_OLDEST,
+
+        /**
+         * An {@link OverflowPolicy} that calls the new event on the calling thread.
+         */
+        CALLER_RUNS,
+
+        /**
+         * An {@link OverflowPolicy} that throws {@link java.util.concurrent.RejectedExecutionException}.
+         */
+        FAIL_FAST
+
+    }
+}
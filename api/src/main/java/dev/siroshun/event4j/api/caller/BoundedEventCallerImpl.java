@@ -0,0 +1,203 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * An implementation of {@link BoundedEventCaller}.
+ * <p>
+ * Accepted events are queued, and one worker is submitted to the {@link Executor} for each of them.
+ * A worker calls the oldest queued event, so {@link OverflowPolicy#DROP_OLDEST} can replace a queued event without submitting another worker.
+ *
+ * @param <E> the event type
+ */
+final class BoundedEventCallerImpl<E> implements BoundedEventCaller<E> {
+
+    private final EventCaller<E> eventCaller;
+    private final Executor executor;
+    private final int maxInFlight;
+    private final OverflowPolicy overflowPolicy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = this.lock.newCondition();
+    private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+    private final Runnable worker = this::runNext;
+    private volatile int inFlight;
+
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder blockedEvents = new LongAdder();
+    private final LongAdder callerRunsEvents = new LongAdder();
+    private final LongAdder rejectedEvents = new LongAdder();
+
+    BoundedEventCallerImpl(@NotNull EventCaller<E> eventCaller, @NotNull Executor executor, int maxInFlight, @NotNull OverflowPolicy overflowPolicy) {
+        this.eventCaller = eventCaller;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public void call(@NotNull E event) {
+        Objects.requireNonNull(event, "event cannot be null.");
+        this.submit(() -> this.eventCaller.call(event));
+    }
+
+    @Override
+    public <T extends E> void call(@NotNull T event, @NotNull Consumer<? super T> callback) {
+        Objects.requireNonNull(event, "event cannot be null.");
+        Objects.requireNonNull(callback, "callback cannot be null.");
+        this.submit(() -> this.eventCaller.call(event, callback));
+    }
+
+    @Override
+    public boolean hasListeners(@NotNull Class<? extends E> eventClass) {
+        return this.eventCaller.hasListeners(eventClass);
+    }
+
+    @Override
+    public int maxInFlight() {
+        return this.maxInFlight;
+    }
+
+    @Override
+    public int inFlight() {
+        return this.inFlight;
+    }
+
+    @Override
+    public @NotNull OverflowPolicy overflowPolicy() {
+        return this.overflowPolicy;
+    }
+
+    @Override
+    public long droppedEvents() {
+        return this.droppedEvents.sum();
+    }
+
+    @Override
+    public long blockedEvents() {
+        return this.blockedEvents.sum();
+    }
+
+    @Override
+    public long callerRunsEvents() {
+        return this.callerRunsEvents.sum();
+    }
+
+    @Override
+    public long rejectedEvents() {
+        return this.rejectedEvents.sum();
+    }
+
+    private void submit(@NotNull Runnable task) {
+        this.lock.lock();
+        try {
+            if (this.inFlight == this.maxInFlight) {
+                switch (this.overflowPolicy) {
+                    case BLOCK -> {
+                        this.blockedEvents.increment();
+                        while (this.inFlight == this.maxInFlight) {
+                            this.notFull.awaitUninterruptibly();
+                        }
+                    }
+                    case DROP_NEWEST -> {
+                        this.droppedEvents.increment();
+                        return;
+                    }
+                    case DROP_OLDEST -> {
+                        this.droppedEvents.increment();
+                        if (this.queue.pollFirst() != null) {
+                            // The worker of the dropped event calls the new event.
+                            this.queue.addLast(task);
+                        }
+                        return;
+                    }
+                    case CALLER_RUNS -> this.callerRunsEvents.increment();
+                    case FAIL_FAST -> {
+                        this.rejectedEvents.increment();
+                        throw new RejectedExecutionException("Too many events in flight (" + this.maxInFlight + ").");
+                    }
+                }
+            }
+
+            if (this.inFlight < this.maxInFlight) {
+                this.queue.addLast(task);
+                this.inFlight++;
+                task = null;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (task != null) { // CALLER_RUNS
+            task.run();
+            return;
+        }
+
+        try {
+            this.executor.execute(this.worker);
+        } catch (RejectedExecutionException e) {
+            this.worker.run();
+        }
+    }
+
+    private void runNext() {
+        Runnable task;
+
+        this.lock.lock();
+        try {
+            task = this.queue.pollFirst();
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (task == null) {
+            return;
+        }
+
+        try {
+            task.run();
+        } finally {
+            this.lock.lock();
+            try {
+                this.inFlight--;
+                this.notFull.signal();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+record ClassBoundEventCaller<E, T extends E>(@NotNull EventCaller<E> eventCaller) implements EventCaller<T> {
+
+    @Override
+    public void call(@NotNull T event) {
+        this.eventCaller.call(event);
+    }
+
+    @Override
+    public <T1 extends T> void call(@NotNull T1 event, @NotNull Consumer<? super T1> callback) {
+        this.eventCaller.call(event, callback);
+    }
+
+    @Override
+    public void callAll(@NotNull Collection<? extends T> events) {
+        this.eventCaller.callAll(events);
+    }
+
+    @Override
+    public boolean hasListeners(@NotNull Class<? extends T> eventClass) {
+        return this.eventCaller.hasListeners(eventClass);
+    }
+
+    @Override
+    public <T1 extends T> void call(@NotNull Class<T1> eventClass, @NotNull Supplier<? extends T1> supplier) {
+        this.eventCaller.call(eventClass, supplier);
+    }
+
+    @Override
+    public <T1 extends T> @NotNull EventCaller<T1> forClass(@NotNull Class<T1> eventClass) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        return this.eventCaller.forClass(eventClass);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link EventCaller} that calls events asynchronously and returns {@link CompletableFuture}s to track them.
+ *
+ * @param <E> the event type
+ * @see EventCaller#completableCaller(EventCaller, java.util.concurrent.Executor)
+ */
+public interface CompletableEventCaller<E> extends EventCaller<E> {
+
+    /**
+     * Calls the event asynchronously.
+     * <p>
+     * The returned {@link CompletableFuture} is completed with the event after all listeners have been called,
+     * or completed exceptionally with the exception that is thrown while calling the event,
+     * such as when {@link dev.siroshun.event4j.api.listener.ListenerExceptionHandler.Result#RETHROW} is returned.
+     *
+     * @param event the event instance
+     * @param <T>   the event type that inherits from {@link E}
+     * @return a {@link CompletableFuture} that is completed after calling the event
+     */
+    <T extends E> @NotNull CompletableFuture<T> callAsync(@NotNull T event);
+
+    /**
+     * Calls the events asynchronously in the order of the given {@link Collection}.
+     * <p>
+     * The returned {@link CompletableFuture} is completed after all events have been called,
+     * or completed exceptionally with the exception that is thrown while calling the events.
+     * If calling an event throws an exception, later events are not called.
+     *
+     * @param events the event instances
+     * @return a {@link CompletableFuture} that is completed after calling the events
+     */
+    @NotNull CompletableFuture<Void> callAllAsync(@NotNull Collection<? extends E> events);
+
+}
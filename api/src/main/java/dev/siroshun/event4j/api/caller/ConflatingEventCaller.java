@@ -0,0 +1,146 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * An {@link EventCaller} that keeps only one pending event for each key, and calls it on the {@link Executor}.
+ * <p>
+ * A key has a slot in the map while its event is pending or being called.
+ * The slot is only accessed in {@link ConcurrentHashMap#compute(Object, java.util.function.BiFunction)},
+ * and is removed when the drain task finds no pending event, so idle keys are not retained.
+ *
+ * @param <E> the event type
+ */
+final class ConflatingEventCaller<E> implements EventCaller<E> {
+
+    private final EventCaller<E> eventCaller;
+    private final Function<? super E, ?> conflationKey;
+    private final BinaryOperator<E> merger;
+    private final Executor executor;
+    private final Map<Object, Slot<E>> slots = new ConcurrentHashMap<>();
+
+    ConflatingEventCaller(@NotNull EventCaller<E> eventCaller, @NotNull Function<? super E, ?> conflationKey,
+                          @NotNull BinaryOperator<E> merger, @NotNull Executor executor) {
+        this.eventCaller = eventCaller;
+        this.conflationKey = conflationKey;
+        this.merger = merger;
+        this.executor = executor;
+    }
+
+    @Override
+    public void call(@NotNull E event) {
+        Objects.requireNonNull(event, "event cannot be null.");
+        var key = this.conflationKey.apply(event);
+
+        if (key == null) {
+            this.executor.execute(() -> this.eventCaller.call(event));
+            return;
+        }
+
+        var created = new boolean[1];
+        this.slots.compute(key, (k, slot) -> {
+            if (slot == null) {
+                created[0] = true;
+                return new Slot<>(event);
+            }
+            slot.pending = slot.pending != null ? Objects.requireNonNull(this.merger.apply(slot.pending, event), "merged event cannot be null.") : event;
+            return slot;
+        });
+
+        if (!created[0]) {
+            return; // The drain task of the key will call the pending event.
+        }
+
+        try {
+            this.executor.execute(() -> this.drain(key));
+        } catch (RejectedExecutionException e) {
+            this.slots.remove(key);
+            throw e;
+        }
+    }
+
+    @Override
+    public <T extends E> void call(@NotNull T event, @NotNull Consumer<? super T> callback) {
+        Objects.requireNonNull(event, "event cannot be null.");
+        Objects.requireNonNull(callback, "callback cannot be null.");
+        this.executor.execute(() -> this.eventCaller.call(event, callback));
+    }
+
+    @Override
+    public boolean hasListeners(@NotNull Class<? extends E> eventClass) {
+        return this.eventCaller.hasListeners(eventClass);
+    }
+
+    private void drain(@NotNull Object key) {
+        var taken = new Object[1];
+
+        while (true) {
+            this.slots.compute(key, (k, slot) -> {
+                taken[0] = slot != null ? slot.pending : null;
+                if (taken[0] == null) {
+                    return null;
+                }
+                slot.pending = null;
+                return slot;
+            });
+
+            @SuppressWarnings("unchecked")
+            var event = (E) taken[0];
+            if (event == null) {
+                return;
+            }
+
+            try {
+                this.eventCaller.call(event);
+            } catch (Throwable e) {
+                // Do not stop draining, otherwise later events of the same key are never called.
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    private static final class Slot<E> {
+
+        private @Nullable E pending;
+
+        private Slot(@NotNull E pending) {
+            this.pending = pending;
+        }
+    }
+}
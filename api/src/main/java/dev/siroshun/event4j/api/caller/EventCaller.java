@@ -27,9 +27,14 @@ package dev.siroshun.event4j.api.caller;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.concurrent.Executor;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * An interface to call events.
@@ -41,6 +46,8 @@ public interface EventCaller<E> {
 
     /**
      * Creates a new {@link EventCaller} that calls {@link #call(Object)} on the given {@link Executor}.
+     * <p>
+     * The events passed to {@link #callAll(Collection)} are submitted to the {@link Executor} as one task.
      *
      * @param caller   the original {@link EventCaller}
      * @param executor the {@link Executor} to use calling {@link #call(Object)}
@@ -54,6 +61,135 @@ public interface EventCaller<E> {
         return new AsyncEventCaller<>(caller, executor);
     }
 
+    /**
+     * Creates a new {@link CompletableEventCaller} that calls events on the given {@link Executor}.
+     * <p>
+     * {@link #call(Object)} and {@link #callAll(Collection)} behave the same as {@link #asyncCaller(EventCaller, Executor)}.
+     * If the {@link Executor} rejects a task, the {@link java.util.concurrent.CompletableFuture}s are completed exceptionally
+     * with the {@link java.util.concurrent.RejectedExecutionException}.
+     *
+     * @param caller   the original {@link EventCaller}
+     * @param executor the {@link Executor} to use calling events
+     * @param <E>      the event type
+     * @return a new {@link CompletableEventCaller}
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    static <E> @NotNull CompletableEventCaller<E> completableCaller(@NotNull EventCaller<E> caller, @NotNull Executor executor) {
+        Objects.requireNonNull(caller, "caller cannot be null.");
+        Objects.requireNonNull(executor, "executor cannot be null.");
+        return new AsyncEventCaller<>(caller, executor);
+    }
+
+    /**
+     * Creates a new {@link BoundedEventCaller} that calls events on the given {@link Executor} with a limited number of events in flight.
+     * <p>
+     * If the {@link Executor} rejects a task, the event is called on the calling thread.
+     *
+     * @param caller         the original {@link EventCaller}
+     * @param executor       the {@link Executor} to use calling events
+     * @param maxInFlight    the maximum number of events in flight
+     * @param overflowPolicy the {@link BoundedEventCaller.OverflowPolicy} to handle events when the limit is reached
+     * @param <E>            the event type
+     * @return a new {@link BoundedEventCaller}
+     * @throws IllegalArgumentException if {@code maxInFlight} is not positive
+     */
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    static <E> @NotNull BoundedEventCaller<E> boundedCaller(@NotNull EventCaller<E> caller, @NotNull Executor executor, int maxInFlight,
+                                                            BoundedEventCaller.@NotNull OverflowPolicy overflowPolicy) {
+        Objects.requireNonNull(caller, "caller cannot be null.");
+        Objects.requireNonNull(executor, "executor cannot be null.");
+        Objects.requireNonNull(overflowPolicy, "overflowPolicy cannot be null.");
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive.");
+        }
+        return new BoundedEventCallerImpl<>(caller, executor, maxInFlight, overflowPolicy);
+    }
+
+    /**
+     * Creates a new {@link EventCaller} that calls only the latest pending event for each key on the given {@link Executor}.
+     *
+     * @param caller        the original {@link EventCaller}
+     * @param conflationKey the function to get the key to conflate events
+     * @param executor      the {@link Executor} to use calling events
+     * @param <E>           the event type
+     * @return a new {@link EventCaller}
+     * @see #conflatingCaller(EventCaller, Function, BinaryOperator, Executor)
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static <E> @NotNull EventCaller<E> conflatingCaller(@NotNull EventCaller<E> caller, @NotNull Function<? super E, ?> conflationKey, @NotNull Executor executor) {
+        return conflatingCaller(caller, conflationKey, (pending, event) -> event, executor);
+    }
+
+    /**
+     * Creates a new {@link EventCaller} that merges pending events for each key, and calls the merged events on the given {@link Executor}.
+     * <p>
+     * Each key has at most one pending event, that is waiting to be called.
+     * When an event is passed while an event of the same key is pending,
+     * the pending event is replaced by the result of the merger, which receives the pending event and the new event.
+     * Events of the same key are called one at a time, so the number of listener calls is bounded by the number of keys, not the number of events.
+     * <p>
+     * Events whose key is {@code null} are not conflated, and neither are events passed to {@link #call(Object, Consumer)}.
+     * Exceptions thrown while calling events are passed to the {@link Thread.UncaughtExceptionHandler} of the current thread.
+     *
+     * @param caller        the original {@link EventCaller}
+     * @param conflationKey the function to get the key to conflate events
+     * @param merger        the function to merge the pending event and the new event
+     * @param executor      the {@link Executor} to use calling events
+     * @param <E>           the event type
+     * @return a new {@link EventCaller}
+     */
+    @Contract(value = "_, _, _, _ -> new", pure = true)
+    static <E> @NotNull EventCaller<E> conflatingCaller(@NotNull EventCaller<E> caller, @NotNull Function<? super E, ?> conflationKey,
+                                                        @NotNull BinaryOperator<E> merger, @NotNull Executor executor) {
+        Objects.requireNonNull(caller, "caller cannot be null.");
+        Objects.requireNonNull(conflationKey, "conflationKey cannot be null.");
+        Objects.requireNonNull(merger, "merger cannot be null.");
+        Objects.requireNonNull(executor, "executor cannot be null.");
+        return new ConflatingEventCaller<>(caller, conflationKey, merger, executor);
+    }
+
+    /**
+     * Creates a new {@link EventCaller} that calls events on virtual threads, in the order of submission for each partition key.
+     *
+     * @param caller       the original {@link EventCaller}
+     * @param partitionKey the function to get the partition key from the event
+     * @param <E>          the event type
+     * @return a new {@link EventCaller}
+     * @see #partitionedCaller(EventCaller, Function, Executor)
+     */
+    @Contract(value = "_, _ -> new", pure = true)
+    static <E> @NotNull EventCaller<E> partitionedCaller(@NotNull EventCaller<E> caller, @NotNull Function<? super E, ?> partitionKey) {
+        var factory = Thread.ofVirtual().name("event4j-partitioned-caller-", 0).factory();
+        return partitionedCaller(caller, partitionKey, task -> factory.newThread(task).start());
+    }
+
+    /**
+     * Creates a new {@link EventCaller} that calls events on the given {@link Executor}, in the order of submission for each partition key.
+     * <p>
+     * Events with equal partition keys (by {@link Object#equals(Object)}) are called one at a time in the order they are passed to this caller,
+     * and events with different keys are called concurrently as far as the {@link Executor} allows.
+     * Events whose partition key is {@code null} are submitted to the {@link Executor} without ordering.
+     * The events passed to {@link #callAll(Collection)} are partitioned individually.
+     * <p>
+     * Exceptions thrown while calling events are passed to the {@link Thread.UncaughtExceptionHandler} of the current thread,
+     * and the later events of the same key are still called.
+     * If the {@link Executor} rejects a task, the {@link java.util.concurrent.RejectedExecutionException} is thrown
+     * and the events of the same key waiting for it are discarded.
+     *
+     * @param caller       the original {@link EventCaller}
+     * @param partitionKey the function to get the partition key from the event
+     * @param executor     the {@link Executor} to use calling events
+     * @param <E>          the event type
+     * @return a new {@link EventCaller}
+     */
+    @Contract(value = "_, _, _ -> new", pure = true)
+    static <E> @NotNull EventCaller<E> partitionedCaller(@NotNull EventCaller<E> caller, @NotNull Function<? super E, ?> partitionKey, @NotNull Executor executor) {
+        Objects.requireNonNull(caller, "caller cannot be null.");
+        Objects.requireNonNull(partitionKey, "partitionKey cannot be null.");
+        Objects.requireNonNull(executor, "executor cannot be null.");
+        return new PartitionedEventCaller<>(caller, partitionKey, executor);
+    }
+
     /**
      * Calls the event.
      *
@@ -74,4 +210,81 @@ public interface EventCaller<E> {
         this.call(event);
         callback.accept(event);
     }
+
+    /**
+     * Checks if the event of the given class may have listeners.
+     * <p>
+     * If this returns {@code false}, calling an event of exactly the given class does nothing,
+     * so the caller can skip creating the event.
+     * The default implementation returns {@code true}, as it does not know the listeners.
+     *
+     * @param eventClass the event class to check
+     * @return {@code false} if the event of the given class has no listeners, otherwise {@code true}
+     */
+    default boolean hasListeners(@NotNull Class<? extends E> eventClass) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        return true;
+    }
+
+    /**
+     * Creates the event by the {@link Supplier} and calls it, only if the event of the given class has listeners.
+     * <p>
+     * The {@link Supplier} should return an instance of exactly the given class, because the listeners are checked by the class
+     * before the event is created, and the listeners of its subclasses are not considered.
+     *
+     * @param eventClass the event class
+     * @param supplier   the {@link Supplier} to create the event
+     * @param <T>        the event type that inherits from {@link E}
+     * @see #hasListeners(Class)
+     */
+    default <T extends E> void call(@NotNull Class<T> eventClass, @NotNull Supplier<? extends T> supplier) {
+        Objects.requireNonNull(supplier, "supplier cannot be null.");
+        if (this.hasListeners(eventClass)) {
+            this.call(Objects.requireNonNull(supplier.get(), "supplier cannot return null."));
+        }
+    }
+
+    /**
+     * Gets the {@link EventCaller} that is bound to the given event class.
+     * <p>
+     * Implementations may prepare the listeners of the class in advance,
+     * so calling events of exactly the given class through the returned caller can skip looking up the listeners.
+     * Events of its subclasses are called in the same way as {@link #call(Object)}.
+     * The default implementation returns the caller that delegates to this caller.
+     *
+     * @param eventClass the event class
+     * @param <T>        the event type that inherits from {@link E}
+     * @return the {@link EventCaller} that is bound to the given event class
+     */
+    default <T extends E> @NotNull EventCaller<T> forClass(@NotNull Class<T> eventClass) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        return new ClassBoundEventCaller<>(this);
+    }
+
+    /**
+     * Calls the events in the order of the given {@link Collection}.
+     * <p>
+     * The default implementation calls {@link #call(Object)} for each event.
+     * Implementations may override this method to dispatch the events more efficiently, but they must call the events in order.
+     * If calling an event throws an exception, later events are not called.
+     *
+     * @param events the event instances
+     */
+    default void callAll(@NotNull Collection<? extends E> events) {
+        Objects.requireNonNull(events, "events cannot be null.");
+        for (var event : events) {
+            this.call(event);
+        }
+    }
+
+    /**
+     * Calls the events in the order of the given array.
+     *
+     * @param events the event instances
+     * @see #callAll(Collection)
+     */
+    default void callAll(@NotNull E @NotNull [] events) {
+        Objects.requireNonNull(events, "events cannot be null.");
+        this.callAll(Arrays.asList(events));
+    }
 }
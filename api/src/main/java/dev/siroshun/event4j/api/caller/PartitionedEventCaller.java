@@ -0,0 +1,146 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * An {@link EventCaller} that calls events on the {@link Executor}, one at a time for each partition key.
+ * <p>
+ * Each partition has a queue of waiting tasks while its task is running.
+ * The queue is only accessed in {@link ConcurrentHashMap#compute(Object, java.util.function.BiFunction)},
+ * and the partition is removed from the map when the queue is drained, so idle keys are not retained.
+ *
+ * @param <E> the event type
+ */
+final class PartitionedEventCaller<E> implements EventCaller<E> {
+
+    private final EventCaller<E> eventCaller;
+    private final Function<? super E, ?> partitionKey;
+    private final Executor executor;
+    private final Map<Object, ArrayDeque<Runnable>> partitions = new ConcurrentHashMap<>();
+
+    PartitionedEventCaller(@NotNull EventCaller<E> eventCaller, @NotNull Function<? super E, ?> partitionKey, @NotNull Executor executor) {
+        this.eventCaller = eventCaller;
+        this.partitionKey = partitionKey;
+        this.executor = executor;
+    }
+
+    @Override
+    public void call(@NotNull E event) {
+        Objects.requireNonNull(event, "event cannot be null.");
+        this.submit(event, () -> this.eventCaller.call(event));
+    }
+
+    @Override
+    public <T extends E> void call(@NotNull T event, @NotNull Consumer<? super T> callback) {
+        Objects.requireNonNull(event, "event cannot be null.");
+        Objects.requireNonNull(callback, "callback cannot be null.");
+        this.submit(event, () -> this.eventCaller.call(event, callback));
+    }
+
+    @Override
+    public boolean hasListeners(@NotNull Class<? extends E> eventClass) {
+        return this.eventCaller.hasListeners(eventClass);
+    }
+
+    @Override
+    public void callAll(@NotNull Collection<? extends E> events) {
+        Objects.requireNonNull(events, "events cannot be null.");
+        for (var event : List.copyOf(events)) {
+            this.call(event);
+        }
+    }
+
+    @Override
+    public void callAll(@NotNull E @NotNull [] events) {
+        Objects.requireNonNull(events, "events cannot be null.");
+        this.callAll(List.of(events));
+    }
+
+    private void submit(@NotNull E event, @NotNull Runnable task) {
+        var key = this.partitionKey.apply(event);
+
+        if (key == null) {
+            this.executor.execute(task);
+            return;
+        }
+
+        var created = new boolean[1];
+        this.partitions.compute(key, (k, queue) -> {
+            if (queue == null) {
+                created[0] = true;
+                return new ArrayDeque<>();
+            }
+            queue.add(task);
+            return queue;
+        });
+
+        if (!created[0]) {
+            return; // The running task of the partition will run this task later.
+        }
+
+        try {
+            this.executor.execute(() -> this.drain(key, task));
+        } catch (RejectedExecutionException e) {
+            // Tasks that have been queued in the meantime cannot be run either.
+            this.partitions.remove(key);
+            throw e;
+        }
+    }
+
+    private void drain(@NotNull Object key, @NotNull Runnable first) {
+        var next = first;
+        var polled = new Runnable[1];
+
+        while (next != null) {
+            try {
+                next.run();
+            } catch (Throwable e) {
+                // Do not stop the partition, otherwise later events of the same key are never called.
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+
+            this.partitions.compute(key, (k, queue) -> {
+                polled[0] = queue != null ? queue.poll() : null;
+                return polled[0] != null ? queue : null;
+            });
+            next = polled[0];
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An {@link EventCaller} that publishes events to a preallocated ring buffer, and calls them on consumer threads in batches.
+ * <p>
+ * Publishing an event does not allocate objects, and consumers pass the published events to {@link EventCaller#callAll(Collection)} of the original {@link EventCaller},
+ * so the original caller can dispatch a batch of events at once.
+ * <p>
+ * With one consumer, events are called in the order of publication.
+ * With two or more consumers, each event is called by one of them, and events published in order may be called concurrently and out of order.
+ * <p>
+ * When the ring buffer is full, {@link #call(Object)} waits for consumers by the {@link WaitStrategy}.
+ * If an event throws an exception, it is passed to the {@link Thread.UncaughtExceptionHandler} of the consumer thread,
+ * and the events after it in the same batch are still called, as a new batch.
+ *
+ * @param <E> the event type
+ */
+public interface RingBufferEventCaller<E> extends EventCaller<E>, AutoCloseable {
+
+    /**
+     * Creates a new {@link Builder}.
+     *
+     * @param caller the original {@link EventCaller} to call events on consumer threads
+     * @param <E>    the event type
+     * @return a new {@link Builder}
+     */
+    @Contract(value = "_ -> new", pure = true)
+    static <E> @NotNull Builder<E> builder(@NotNull EventCaller<E> caller) {
+        Objects.requireNonNull(caller, "caller cannot be null.");
+        return new RingBufferEventCallerImpl.BuilderImpl<>(caller, 1024, 1, 256, WaitStrategy.BLOCKING, null);
+    }
+
+    /**
+     * Publishes the event to the ring buffer.
+     *
+     * @param event the event instance
+     * @throws IllegalStateException if this caller is closed
+     */
+    @Override
+    void call(@NotNull E event);
+
+    /**
+     * Gets the number of slots of the ring buffer.
+     *
+     * @return the number of slots of the ring buffer
+     */
+    int bufferSize();
+
+    /**
+     * Stops accepting events, and waits for consumers to call the events that have been published.
+     * <p>
+     * Events that are published concurrently with closing may not be called.
+     */
+    @Override
+    void close();
+
+    /**
+     * Strategies for waiting for events when the ring buffer is empty, or for free slots when it is full.
+     */
+    enum WaitStrategy {
+
+        /**
+         * A {@link WaitStrategy} that spins on {@link Thread#onSpinWait()}.
+         * <p>
+         * This has the lowest latency, but occupies a CPU core for each waiting thread.
+         */
+        BUSY_SPIN,
+
+        /**
+         * A {@link WaitStrategy} that spins for a while, then calls {@link Thread#yield()}.
+         */
+        YIELDING,
+
+        /**
+         * A {@link WaitStrategy} that spins and yields for a while, then parks the thread for a short time.
+         */
+        SLEEPING,
+
+        /**
+         * A {@link WaitStrategy} that spins for a while, then blocks until it is signalled.
+         * <p>
+         * This uses the least CPU, and only adds a memory fence to publishing while no thread is blocked.
+         */
+        BLOCKING
+
+    }
+
+    /**
+     * A builder interface to create {@link RingBufferEventCaller}.
+     * <p>
+     * The implementation of this interface should be immutable.
+     *
+     * @param <E> the event type
+     */
+    interface Builder<E> {
+
+        /**
+         * Sets the number of slots of the ring buffer, that is rounded up to a power of two and at least 2.
+         * <p>
+         * The default size is 1024.
+         *
+         * @param bufferSize the number of slots of the ring buffer
+         * @return the new {@link Builder}
+         * @throws IllegalArgumentException if the size is not positive or greater than 2<sup>30</sup>
+         */
+        @Contract("_ -> new")
+        @NotNull Builder<E> bufferSize(int bufferSize);
+
+        /**
+         * Sets the number of consumer threads.
+         * <p>
+         * One consumer calls events in order (multi-producer, single-consumer),
+         * and two or more consumers share events without ordering (multi-producer, multi-consumer).
+         * The default number is 1.
+         *
+         * @param consumers the number of consumer threads
+         * @return the new {@link Builder}
+         * @throws IllegalArgumentException if the number is not positive
+         */
+        @Contract("_ -> new")
+        @NotNull Builder<E> consumers(int consumers);
+
+        /**
+         * Sets the maximum number of events that a consumer passes to {@link EventCaller#callAll(Collection)} at once.
+         * <p>
+         * The default size is 256.
+         *
+         * @param maxBatchSize the maximum number of events in a batch
+         * @return the new {@link Builder}
+         * @throws IllegalArgumentException if the size is not positive
+         */
+        @Contract("_ -> new")
+        @NotNull Builder<E> maxBatchSize(int maxBatchSize);
+
+        /**
+         * Sets the {@link WaitStrategy} of producers and consumers.
+         * <p>
+         * The default strategy is {@link WaitStrategy#BLOCKING}.
+         *
+         * @param waitStrategy the {@link WaitStrategy}
+         * @return the new {@link Builder}
+         */
+        @Contract("_ -> new")
+        @NotNull Builder<E> waitStrategy(@NotNull WaitStrategy waitStrategy);
+
+        /**
+         * Sets the {@link ThreadFactory} to create consumer threads.
+         * <p>
+         * By default, consumers run on daemon platform threads.
+         *
+         * @param threadFactory the {@link ThreadFactory}
+         * @return the new {@link Builder}
+         */
+        @Contract("_ -> new")
+        @NotNull Builder<E> threadFactory(@NotNull ThreadFactory threadFactory);
+
+        /**
+         * Creates a new {@link RingBufferEventCaller} and starts its consumer threads.
+         *
+         * @return a new {@link RingBufferEventCaller}
+         */
+        @Contract("-> new")
+        @NotNull RingBufferEventCaller<E> build();
+
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An implementation of {@link RingBufferEventCaller} based on a bounded queue with per-slot sequences.
+ * <p>
+ * The sequence of each slot tells whether the slot is free for the position ({@code sequence == position}),
+ * or holds the published event of the position ({@code sequence == position + 1}).
+ * Producers claim positions by CAS on {@link #tail}, and consumers claim batches of published positions from {@link #head},
+ * by CAS if there are two or more consumers, and then release the slots for the position of the next lap.
+ *
+ * @param <E> the event type
+ */
+final class RingBufferEventCallerImpl<E> implements RingBufferEventCaller<E> {
+
+    private static final VarHandle HEAD;
+    private static final VarHandle TAIL;
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long SLEEP_NANOS = 50_000;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(RingBufferEventCallerImpl.class, "head", long.class);
+            TAIL = lookup.findVarHandle(RingBufferEventCallerImpl.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final EventCaller<E> eventCaller;
+    private final Object[] buffer;
+    private final long[] sequences;
+    private final int mask;
+    private final int maxBatchSize;
+    private final boolean singleConsumer;
+    private final WaitStrategy waitStrategy;
+    private final Thread[] consumers;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private final Condition notFull = this.lock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+
+    private volatile long head;
+    private volatile long tail;
+    private volatile boolean closed;
+
+    private RingBufferEventCallerImpl(@NotNull BuilderImpl<E> builder, @NotNull ThreadFactory threadFactory) {
+        this.eventCaller = builder.eventCaller;
+        this.buffer = new Object[builder.bufferSize];
+        this.sequences = new long[builder.bufferSize];
+        this.mask = builder.bufferSize - 1;
+        this.maxBatchSize = Math.min(builder.maxBatchSize, builder.bufferSize);
+        this.singleConsumer = builder.consumers == 1;
+        this.waitStrategy = builder.waitStrategy;
+
+        for (int i = 0; i < this.sequences.length; i++) {
+            this.sequences[i] = i;
+        }
+
+        this.consumers = new Thread[builder.consumers];
+        for (int i = 0; i < this.consumers.length; i++) {
+            this.consumers[i] = threadFactory.newThread(this::consume);
+        }
+        for (var consumer : this.consumers) {
+            consumer.start();
+        }
+    }
+
+    @Override
+    public void call(@NotNull E event) {
+        Objects.requireNonNull(event, "event cannot be null.");
+        int tries = 0;
+
+        while (true) {
+            if (this.closed) {
+                throw new IllegalStateException("This caller is already closed.");
+            }
+
+            long position = this.tail;
+            int index = (int) position & this.mask;
+            long sequence = (long) SEQUENCES.getAcquire(this.sequences, index);
+
+            if (sequence == position) {
+                if (TAIL.compareAndSet(this, position, position + 1)) {
+                    this.buffer[index] = event;
+                    SEQUENCES.setRelease(this.sequences, index, position + 1);
+                    this.signal(this.waitingConsumers, this.notEmpty);
+                    return;
+                }
+            } else if (sequence - position < 0 && !this.idle(tries++)) { // The buffer is full
+                this.block(this.waitingProducers, this.notFull, index, position);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasListeners(@NotNull Class<? extends E> eventClass) {
+        return this.eventCaller.hasListeners(eventClass);
+    }
+
+    @Override
+    public int bufferSize() {
+        return this.buffer.length;
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+
+        this.lock.lock();
+        try {
+            this.notEmpty.signalAll();
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+
+        boolean interrupted = false;
+        for (var consumer : this.consumers) {
+            while (consumer != Thread.currentThread() && consumer.isAlive()) {
+                try {
+                    consumer.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void consume() {
+        var batch = new Batch<E>(this.maxBatchSize);
+        int tries = 0;
+
+        while (true) {
+            long position = this.head;
+            int count = 0;
+
+            while (count < this.maxBatchSize && (long) SEQUENCES.getAcquire(this.sequences, (int) (position + count) & this.mask) == position + count + 1) {
+                count++;
+            }
+
+            if (count == 0) {
+                if (this.closed && position == this.tail) {
+                    return;
+                }
+                if (!this.idle(tries++)) {
+                    this.block(this.waitingConsumers, this.notEmpty, (int) position & this.mask, position + 1);
+                }
+                continue;
+            }
+
+            if (this.singleConsumer) {
+                this.head = position + count;
+            } else if (!HEAD.compareAndSet(this, position, position + count)) {
+                continue;
+            }
+
+            tries = 0;
+
+            for (int i = 0; i < count; i++) {
+                int index = (int) (position + i) & this.mask;
+                batch.events[i] = this.buffer[index];
+                this.buffer[index] = null;
+                SEQUENCES.setRelease(this.sequences, index, position + i + this.buffer.length);
+            }
+
+            this.signal(this.waitingProducers, this.notFull);
+
+            try {
+                this.callAll(batch, count);
+            } finally {
+                Arrays.fill(batch.events, 0, count, null);
+            }
+        }
+    }
+
+    /**
+     * Calls the claimed events as batches.
+     * <p>
+     * If calling an event throws an exception, the exception is reported to the uncaught exception handler of the consumer,
+     * and the events after the last one that has been taken from the batch are called as a new batch.
+     *
+     * @param batch the batch that holds the claimed events
+     * @param count the number of the claimed events
+     */
+    private void callAll(@NotNull Batch<E> batch, int count) {
+        int offset = 0;
+        while (offset < count) {
+            batch.reset(offset, count);
+            try {
+                this.eventCaller.callAll(batch);
+                return;
+            } catch (Throwable e) {
+                var thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+            offset = Math.max(batch.reached, offset + 1); // Skip the event that has thrown the exception
+        }
+    }
+
+    /**
+     * Waits for a moment by the {@link WaitStrategy}.
+     *
+     * @param tries the number of times that the thread has waited
+     * @return {@code false} if the thread should block, otherwise {@code true}
+     */
+    private boolean idle(int tries) {
+        switch (this.waitStrategy) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> {
+                if (tries < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            case SLEEPING -> {
+                if (tries < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (tries < SPIN_TRIES + YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                }
+            }
+            case BLOCKING -> {
+                if (tries < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Blocks until the sequence of the slot reaches the expected value, or this caller is closed.
+     * <p>
+     * Incrementing the waiter count is a full fence, and so is the fence in {@link #signal(AtomicInteger, Condition)}
+     * between updating a sequence and reading the count, so either the waiter sees the new sequence or the updater sees the waiter.
+     */
+    private void block(@NotNull AtomicInteger waiting, @NotNull Condition condition, int index, long expected) {
+        this.lock.lock();
+        try {
+            waiting.incrementAndGet();
+            try {
+                while ((long) SEQUENCES.getVolatile(this.sequences, index) - expected < 0 && !this.closed) {
+                    condition.awaitUninterruptibly();
+                }
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void signal(@NotNull AtomicInteger waiting, @NotNull Condition condition) {
+        if (this.waitStrategy != WaitStrategy.BLOCKING) {
+            return;
+        }
+
+        VarHandle.fullFence();
+
+        if (waiting.get() != 0) {
+            this.lock.lock();
+            try {
+                condition.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A reusable {@link java.util.List} view of the events that a consumer has claimed.
+     * <p>
+     * The view tracks the end of the events that have been taken,
+     * so that the consumer can continue after the event that has thrown an exception.
+     *
+     * @param <E> the event type
+     */
+    private static final class Batch<E> extends AbstractList<E> implements RandomAccess {
+
+        private final Object[] events;
+        private int offset;
+        private int size;
+        private int reached;
+
+        private Batch(int capacity) {
+            this.events = new Object[capacity];
+        }
+
+        private void reset(int offset, int end) {
+            this.offset = offset;
+            this.size = end - offset;
+            this.reached = offset;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public E get(int index) {
+            Objects.checkIndex(index, this.size);
+            int position = this.offset + index;
+            if (this.reached <= position) {
+                this.reached = position + 1;
+            }
+            return (E) this.events[position];
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+    }
+
+    record BuilderImpl<E>(@NotNull EventCaller<E> eventCaller, int bufferSize, int consumers, int maxBatchSize,
+                          @NotNull WaitStrategy waitStrategy, @Nullable ThreadFactory threadFactory) implements Builder<E> {
+
+        private static final int MAX_BUFFER_SIZE = 1 << 30;
+
+        @Override
+        public @NotNull Builder<E> bufferSize(int bufferSize) {
+            if (bufferSize < 1 || MAX_BUFFER_SIZE < bufferSize) {
+                throw new IllegalArgumentException("bufferSize must be between 1 and " + MAX_BUFFER_SIZE + ".");
+            }
+            // A slot that has been freed must not look published, so the buffer needs at least two slots
+            int size = bufferSize <= 2 ? 2 : Integer.highestOneBit(bufferSize - 1) << 1;
+            return new BuilderImpl<>(this.eventCaller, size, this.consumers, this.maxBatchSize, this.waitStrategy, this.threadFactory);
+        }
+
+        @Override
+        public @NotNull Builder<E> consumers(int consumers) {
+            if (consumers < 1) {
+                throw new IllegalArgumentException("consumers must be positive.");
+            }
+            return new BuilderImpl<>(this.eventCaller, this.bufferSize, consumers, this.maxBatchSize, this.waitStrategy, this.threadFactory);
+        }
+
+        @Override
+        public @NotNull Builder<E> maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be positive.");
+            }
+            return new BuilderImpl<>(this.eventCaller, this.bufferSize, this.consumers, maxBatchSize, this.waitStrategy, this.threadFactory);
+        }
+
+        @Override
+        public @NotNull Builder<E> waitStrategy(@NotNull WaitStrategy waitStrategy) {
+            Objects.requireNonNull(waitStrategy, "waitStrategy cannot be null.");
+            return new BuilderImpl<>(this.eventCaller, this.bufferSize, this.consumers, this.maxBatchSize, waitStrategy, this.threadFactory);
+        }
+
+        @Override
+        public @NotNull Builder<E> threadFactory(@NotNull ThreadFactory threadFactory) {
+            Objects.requireNonNull(threadFactory, "threadFactory cannot be null.");
+            return new BuilderImpl<>(this.eventCaller, this.bufferSize, this.consumers, this.maxBatchSize, this.waitStrategy, threadFactory);
+        }
+
+        @Override
+        public @NotNull RingBufferEventCaller<E> build() {
+            var threadFactory = this.threadFactory != null ?
+                this.threadFactory :
+                Thread.ofPlatform().name("event4j-ring-buffer-consumer-", 0).daemon(true).factory();
+            return new RingBufferEventCallerImpl<>(this, threadFactory);
+        }
+    }
+}
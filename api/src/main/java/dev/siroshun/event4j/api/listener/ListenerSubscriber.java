@@ -101,6 +101,14 @@ public interface ListenerSubscriber<K, E, O> {
     @Contract("-> new")
     @NotNull BulkSubscriber<K, E, O> bulkSubscriber();
 
+    /**
+     * Creates a new {@link ChangeSet} to subscribe and unsubscribe multiple listeners at once.
+     *
+     * @return a new {@link ChangeSet}
+     */
+    @Contract("-> new")
+    @NotNull ChangeSet<K, E, O> changeSet();
+
     /**
      * Unsubscribes the specified {@link SubscribedListener}.
      *
@@ -110,6 +118,8 @@ public interface ListenerSubscriber<K, E, O> {
 
     /**
      * Unsubscribes the specified {@link SubscribedListener}s.
+     * <p>
+     * All the listeners that are equal to the specified ones are unsubscribed.
      *
      * @param subscribedListeners the {@link SubscribedListener}s to unsubscribe
      */
@@ -182,4 +192,91 @@ public interface ListenerSubscriber<K, E, O> {
         @NotNull List<SubscribedListener<K, ? extends E, O>> subscribe();
 
     }
+
+    /**
+     * An interface for subscribing and unsubscribing multiple listeners at once.
+     * <p>
+     * The changes are applied atomically by {@link #apply()}: an event that is called concurrently is dispatched to either none or all of them.
+     * Removals are applied before additions, so that the listeners of a key can be replaced by {@link #removeByKey(Object)} and {@code add} methods.
+     *
+     * @param <K> the key type
+     * @param <E> the event type
+     * @param <O> the order type
+     */
+    interface ChangeSet<K, E, O> {
+
+        /**
+         * Adds a new listener for the specified event.
+         *
+         * @param eventClass the class of the event
+         * @param builder    the {@link Consumer} to modify {@link ListenerFactory}
+         * @param <T>        the event type
+         * @return this {@link ChangeSet}
+         */
+        @Contract("_, _ -> this")
+        <T extends E> @NotNull ChangeSet<K, E, O> add(@NotNull Class<T> eventClass, @NotNull Consumer<? super ListenerFactory<K, T, O>> builder);
+
+        /**
+         * Adds a new listener for the specified event.
+         *
+         * @param eventClass the class of the event
+         * @param key        the key
+         * @param consumer   the {@link Consumer}
+         * @param <T>        the event type
+         * @return this {@link ChangeSet}
+         */
+        @Contract("_, _, _ -> this")
+        <T extends E> @NotNull ChangeSet<K, E, O> add(@NotNull Class<T> eventClass, @NotNull K key, @NotNull Consumer<? super T> consumer);
+
+        /**
+         * Adds a new listener for the specified event.
+         *
+         * @param eventClass the class of the event
+         * @param key        the key
+         * @param consumer   the {@link Consumer}
+         * @param order      the order, passing {@code null} to use a default order
+         * @param <T>        the event type
+         * @return this {@link ChangeSet}
+         */
+        @Contract("_, _, _, _ -> this")
+        <T extends E> @NotNull ChangeSet<K, E, O> add(@NotNull Class<T> eventClass, @NotNull K key, @NotNull Consumer<? super T> consumer, @Nullable O order);
+
+        /**
+         * Removes the subscribed listener.
+         *
+         * @param subscribedListener the listener to unsubscribe
+         * @return this {@link ChangeSet}
+         */
+        @Contract("_ -> this")
+        @NotNull ChangeSet<K, E, O> remove(@NotNull SubscribedListener<K, ? extends E, O> subscribedListener);
+
+        /**
+         * Removes the subscribed listeners.
+         *
+         * @param subscribedListeners the listeners to unsubscribe
+         * @return this {@link ChangeSet}
+         */
+        @Contract("_ -> this")
+        @NotNull ChangeSet<K, E, O> removeAll(@NotNull Collection<SubscribedListener<K, ? extends E, O>> subscribedListeners);
+
+        /**
+         * Removes all listeners that have the specified key.
+         *
+         * @param key the key of listeners to unsubscribe
+         * @return this {@link ChangeSet}
+         */
+        @Contract("_ -> this")
+        @NotNull ChangeSet<K, E, O> removeByKey(@NotNull K key);
+
+        /**
+         * Applies the changes at once.
+         * <p>
+         * This method can be called only once.
+         *
+         * @return the added {@link SubscribedListener}s
+         * @throws IllegalStateException if the changes have already been applied
+         */
+        @NotNull List<SubscribedListener<K, ? extends E, O>> apply();
+
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.listener;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+
+/**
+ * An interface to handle the listener that takes longer than its time budget.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+@FunctionalInterface
+public interface SlowListenerHandler<K, E, O> {
+
+    /**
+     * Creates a {@link SlowListenerHandler} that returns {@link Result#CONTINUE}.
+     *
+     * @param <K> the key type
+     * @param <E> the event type
+     * @param <O> the order type
+     * @return a {@link SlowListenerHandler} that returns {@link Result#CONTINUE}
+     */
+    static <K, E, O> @NotNull SlowListenerHandler<K, E, O> continueHandler() {
+        return (event, listener, elapsed, budget, violations) -> Result.CONTINUE;
+    }
+
+    /**
+     * Creates a {@link SlowListenerHandler} that quarantines listeners that exceed their budgets the specified number of times.
+     *
+     * @param maxViolations the number of violations to quarantine the listener
+     * @param <K>           the key type
+     * @param <E>           the event type
+     * @param <O>           the order type
+     * @return a {@link SlowListenerHandler} that quarantines repeat offenders
+     * @throws IllegalArgumentException if {@code maxViolations} is not positive
+     */
+    static <K, E, O> @NotNull SlowListenerHandler<K, E, O> quarantineAfter(int maxViolations) {
+        if (maxViolations < 1) {
+            throw new IllegalArgumentException("maxViolations must be positive.");
+        }
+        return (event, listener, elapsed, budget, violations) -> maxViolations <= violations ? Result.QUARANTINE : Result.CONTINUE;
+    }
+
+    /**
+     * Handles the listener that exceeds its time budget.
+     * <p>
+     * This method is called on the thread that called the listener, after the listener has returned.
+     *
+     * @param event      the event instance
+     * @param listener   the {@link SubscribedListener} that exceeds its budget
+     * @param elapsed    the time that the listener took
+     * @param budget     the time budget of the listener
+     * @param violations the number of times that the listener has exceeded its budget, including this time
+     * @return the {@link Result} that indicates what to do with the listener
+     */
+    @NotNull Result handleSlowListener(@NotNull E event, @NotNull SubscribedListener<K, ? extends E, O> listener,
+                                       @NotNull Duration elapsed, @NotNull Duration budget, int violations);
+
+    /**
+     * The operations that indicates what to do with the slow listener.
+     */
+    enum Result {
+
+        /**
+         * A {@link Result} that indicates that the listener should be called as usual.
+         */
+        CONTINUE,
+
+        /**
+         * A {@link Result} that indicates that the listener should no longer be called until it is unsubscribed.
+         */
+        QUARANTINE
+
+    }
+}
@@ -63,22 +63,36 @@ public record Priority(int value) implements Comparable<Priority> {
     public static final Priority HIGH = new Priority(128);
 
     /**
-     * Creates a new priority.
+     * Gets the priority of the specified value.
+     * <p>
+     * The priorities from -256 to 256 are cached, and this method returns the same instance for these values.
      *
      * @param value the priority value
      * @return the priority
      */
     public static Priority value(int value) {
-        return switch (value) {
-            case -128 -> LOW;
-            case 0 -> NORMAL;
-            case 128 -> HIGH;
-            default -> new Priority(value);
-        };
+        return Cache.MIN <= value && value <= Cache.MAX ? Cache.PRIORITIES[value - Cache.MIN] : new Priority(value);
     }
 
     @Override
     public int compareTo(Priority o) {
         return Integer.compare(this.value, o.value);
     }
+
+    private static final class Cache {
+
+        private static final int MIN = -256;
+        private static final int MAX = 256;
+        private static final Priority[] PRIORITIES = new Priority[MAX - MIN + 1];
+
+        static {
+            for (int i = 0; i < PRIORITIES.length; i++) {
+                PRIORITIES[i] = new Priority(MIN + i);
+            }
+
+            PRIORITIES[LOW.value - MIN] = LOW;
+            PRIORITIES[NORMAL.value - MIN] = NORMAL;
+            PRIORITIES[HIGH.value - MIN] = HIGH;
+        }
+    }
 }
@@ -28,10 +28,14 @@ import dev.siroshun.event4j.test.helper.event.SampleEvent;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -63,6 +67,111 @@ class AsyncEventCallerTest {
         Assertions.assertSame(originalEvent, callbackResult.get());
     }
 
+    @Test
+    void testCallAll() {
+        var events = List.of(new SampleEvent(), new SampleEvent(), new SampleEvent());
+        var called = new ArrayList<SampleEvent>();
+        var tasks = new ArrayList<Runnable>();
+        EventCaller<SampleEvent> async = EventCaller.asyncCaller(called::add, tasks::add);
+
+        async.callAll(events);
+        Assertions.assertEquals(1, tasks.size()); // The events should be submitted as one task
+        Assertions.assertTrue(called.isEmpty());
+
+        tasks.removeFirst().run();
+        Assertions.assertEquals(events, called);
+
+        called.clear();
+        async.callAll(events.toArray(SampleEvent[]::new));
+        Assertions.assertEquals(1, tasks.size());
+        tasks.removeFirst().run();
+        Assertions.assertEquals(events, called);
+
+        async.callAll(List.of());
+        Assertions.assertTrue(tasks.isEmpty()); // Empty batches should not be submitted
+    }
+
+    @Test
+    void testCallAsync() throws Exception {
+        var event = new SampleEvent();
+        var called = new AtomicInteger(0);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var caller = EventCaller.<SampleEvent>completableCaller(e -> called.incrementAndGet(), executor);
+            Assertions.assertSame(event, caller.callAsync(event).get(1, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, called.get());
+
+            caller.callAllAsync(List.of(new SampleEvent(), new SampleEvent())).get(1, TimeUnit.SECONDS);
+            Assertions.assertEquals(3, called.get());
+        }
+    }
+
+    @Test
+    void testCallAsyncExceptionally() {
+        var exception = new IllegalStateException();
+        var caller = EventCaller.<SampleEvent>completableCaller(e -> {
+            throw exception;
+        }, Runnable::run);
+
+        var future = caller.callAsync(new SampleEvent());
+        Assertions.assertTrue(future.isCompletedExceptionally());
+        Assertions.assertSame(exception, Assertions.assertThrows(ExecutionException.class, future::get).getCause());
+
+        var allFuture = caller.callAllAsync(List.of(new SampleEvent()));
+        Assertions.assertSame(exception, Assertions.assertThrows(ExecutionException.class, allFuture::get).getCause());
+
+        Assertions.assertTrue(caller.callAllAsync(List.of()).isDone()); // Empty batches should be completed immediately
+    }
+
+    @Test
+    void testCallAsyncRejected() {
+        var caller = EventCaller.<SampleEvent>completableCaller(e -> {
+        }, task -> {
+            throw new RejectedExecutionException();
+        });
+
+        var future = caller.callAsync(new SampleEvent());
+        Assertions.assertInstanceOf(RejectedExecutionException.class, Assertions.assertThrows(ExecutionException.class, future::get).getCause());
+    }
+
+    @Test
+    void testHasListeners() {
+        var original = new EventCaller<SampleEvent>() {
+            @Override
+            public void call(SampleEvent event) {
+                Assertions.fail("Unexpected call");
+            }
+
+            @Override
+            public boolean hasListeners(Class<? extends SampleEvent> eventClass) {
+                return false;
+            }
+        };
+        var async = EventCaller.asyncCaller(original, task -> Assertions.fail("Unexpected executor call"));
+
+        Assertions.assertFalse(async.hasListeners(SampleEvent.class));
+        async.call(SampleEvent.class, () -> {
+            throw new AssertionError("The event should not be created");
+        });
+
+        EventCaller<SampleEvent> defaultCaller = event -> {
+        };
+        Assertions.assertTrue(defaultCaller.hasListeners(SampleEvent.class)); // The default implementation does not know listeners
+    }
+
+    @Test
+    void testForClass() {
+        var called = new ArrayList<SampleEvent>();
+        EventCaller<SampleEvent> caller = called::add;
+        var bound = caller.forClass(SampleEvent.class);
+
+        var event = new SampleEvent();
+        bound.call(event);
+        bound.callAll(List.of(event));
+        Assertions.assertEquals(List.of(event, event), called);
+        Assertions.assertTrue(bound.hasListeners(SampleEvent.class));
+    }
+
     private static void callAsync(Consumer<EventCaller<SampleEvent>> call, Consumer<SampleEvent> calledEventConsumer) {
         AtomicInteger counter = new AtomicInteger(0);
         CompletableFuture<Boolean> future = new CompletableFuture<>();
@@ -106,6 +215,14 @@ class AsyncEventCallerTest {
         Assertions.assertThrows(NullPointerException.class, () -> async.call(null, event -> {
         }));
         Assertions.assertThrows(NullPointerException.class, () -> async.call(new SampleEvent(), null));
+        Assertions.assertThrows(NullPointerException.class, () -> async.callAll((List<SampleEvent>) null));
+        Assertions.assertThrows(NullPointerException.class, () -> async.callAll(Arrays.asList(new SampleEvent(), null)));
+
+        var completable = EventCaller.completableCaller(caller, Runnable::run);
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.completableCaller(caller, null));
+        Assertions.assertThrows(NullPointerException.class, () -> completable.callAsync(null));
+        Assertions.assertThrows(NullPointerException.class, () -> completable.callAllAsync(null));
+        Assertions.assertThrows(NullPointerException.class, () -> completable.callAllAsync(Arrays.asList(new SampleEvent(), null)));
 
         Assertions.assertEquals(0, counter.get());
     }
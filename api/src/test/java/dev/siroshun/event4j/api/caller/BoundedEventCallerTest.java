@@ -0,0 +1,185 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+class BoundedEventCallerTest {
+
+    @Test
+    void testDropNewest() {
+        var called = new ArrayList<SampleEvent>();
+        var tasks = new ArrayList<Runnable>();
+        var caller = EventCaller.<SampleEvent>boundedCaller(called::add, tasks::add, 2, BoundedEventCaller.OverflowPolicy.DROP_NEWEST);
+        var events = List.of(new SampleEvent(), new SampleEvent(), new SampleEvent());
+
+        caller.callAll(events);
+        Assertions.assertEquals(2, tasks.size());
+        Assertions.assertEquals(2, caller.inFlight());
+        Assertions.assertEquals(1, caller.droppedEvents());
+
+        tasks.forEach(Runnable::run);
+        Assertions.assertEquals(events.subList(0, 2), called);
+        Assertions.assertEquals(0, caller.inFlight());
+    }
+
+    @Test
+    void testDropOldest() {
+        var called = new ArrayList<SampleEvent>();
+        var tasks = new ArrayList<Runnable>();
+        var caller = EventCaller.<SampleEvent>boundedCaller(called::add, tasks::add, 2, BoundedEventCaller.OverflowPolicy.DROP_OLDEST);
+        var events = List.of(new SampleEvent(), new SampleEvent(), new SampleEvent());
+
+        caller.callAll(events);
+        Assertions.assertEquals(2, tasks.size()); // The new event should be called by the worker of the dropped event
+        Assertions.assertEquals(1, caller.droppedEvents());
+
+        tasks.forEach(Runnable::run);
+        Assertions.assertEquals(events.subList(1, 3), called);
+        Assertions.assertEquals(0, caller.inFlight());
+    }
+
+    @Test
+    void testDropOldestWhileCalling() {
+        var called = new ArrayList<SampleEvent>();
+        var tasks = new ArrayList<Runnable>();
+        var nested = new SampleEvent();
+        var holder = new ArrayList<BoundedEventCaller<SampleEvent>>();
+        EventCaller<SampleEvent> original = event -> {
+            called.add(event);
+            if (event != nested) {
+                holder.getFirst().call(nested); // All events in flight are being called
+            }
+        };
+        var caller = EventCaller.<SampleEvent>boundedCaller(original, tasks::add, 1, BoundedEventCaller.OverflowPolicy.DROP_OLDEST);
+        holder.add(caller);
+
+        var event = new SampleEvent();
+        caller.call(event);
+        tasks.removeFirst().run();
+
+        Assertions.assertEquals(List.of(event), called); // The new event should be dropped instead
+        Assertions.assertEquals(1, caller.droppedEvents());
+        Assertions.assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void testCallerRuns() {
+        var called = new ArrayList<SampleEvent>();
+        var tasks = new ArrayList<Runnable>();
+        var caller = EventCaller.<SampleEvent>boundedCaller(called::add, tasks::add, 1, BoundedEventCaller.OverflowPolicy.CALLER_RUNS);
+        var first = new SampleEvent();
+        var second = new SampleEvent();
+
+        caller.call(first);
+        caller.call(second);
+        Assertions.assertEquals(List.of(second), called); // The second event should be called on this thread
+        Assertions.assertEquals(1, caller.callerRunsEvents());
+
+        tasks.removeFirst().run();
+        Assertions.assertEquals(List.of(second, first), called);
+    }
+
+    @Test
+    void testFailFast() {
+        var tasks = new ArrayList<Runnable>();
+        var caller = EventCaller.<SampleEvent>boundedCaller(event -> {
+        }, tasks::add, 1, BoundedEventCaller.OverflowPolicy.FAIL_FAST);
+
+        caller.call(new SampleEvent());
+        Assertions.assertThrows(RejectedExecutionException.class, () -> caller.call(new SampleEvent()));
+        Assertions.assertEquals(1, caller.rejectedEvents());
+
+        tasks.removeFirst().run();
+        caller.call(new SampleEvent()); // The event in flight has been completed
+        Assertions.assertEquals(1, tasks.size());
+    }
+
+    @Test
+    void testBlock() throws InterruptedException {
+        var called = new ArrayList<SampleEvent>();
+        var tasks = new ArrayList<Runnable>();
+        var caller = EventCaller.<SampleEvent>boundedCaller(called::add, task -> {
+            synchronized (tasks) {
+                tasks.add(task);
+            }
+        }, 1, BoundedEventCaller.OverflowPolicy.BLOCK);
+
+        caller.call(new SampleEvent());
+        var thread = Thread.ofPlatform().start(() -> caller.call(new SampleEvent()));
+
+        while (caller.blockedEvents() == 0) {
+            Thread.onSpinWait();
+        }
+        Assertions.assertTrue(thread.isAlive());
+
+        synchronized (tasks) {
+            tasks.removeFirst().run();
+        }
+        Assertions.assertTrue(thread.join(Duration.ofSeconds(10)));
+
+        synchronized (tasks) {
+            Assertions.assertEquals(1, tasks.size()); // The blocked event should be accepted
+        }
+        Assertions.assertEquals(1, caller.blockedEvents());
+    }
+
+    @Test
+    void testRejectedByExecutor() {
+        var called = new ArrayList<SampleEvent>();
+        var caller = EventCaller.<SampleEvent>boundedCaller(called::add, task -> {
+            throw new RejectedExecutionException();
+        }, 1, BoundedEventCaller.OverflowPolicy.FAIL_FAST);
+
+        var event = new SampleEvent();
+        caller.call(event);
+        caller.call(event);
+        Assertions.assertEquals(List.of(event, event), called); // Rejected events should be called on this thread
+        Assertions.assertEquals(0, caller.inFlight());
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testNullArgument() {
+        EventCaller<SampleEvent> original = event -> {
+        };
+        var caller = EventCaller.<SampleEvent>boundedCaller(original, Runnable::run, 1, BoundedEventCaller.OverflowPolicy.BLOCK);
+
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.boundedCaller(null, Runnable::run, 1, BoundedEventCaller.OverflowPolicy.BLOCK));
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.boundedCaller(original, null, 1, BoundedEventCaller.OverflowPolicy.BLOCK));
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.boundedCaller(original, Runnable::run, 1, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> EventCaller.boundedCaller(original, Runnable::run, 0, BoundedEventCaller.OverflowPolicy.BLOCK));
+        Assertions.assertThrows(NullPointerException.class, () -> caller.call(null));
+        Assertions.assertThrows(NullPointerException.class, () -> caller.call(new SampleEvent(), null));
+    }
+}
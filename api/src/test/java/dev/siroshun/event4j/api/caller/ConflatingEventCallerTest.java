@@ -0,0 +1,154 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ConflatingEventCallerTest {
+
+    @Test
+    void testLatestEvent() {
+        var called = new ArrayList<Update>();
+        var tasks = new ArrayList<Runnable>();
+        var caller = EventCaller.<Update>conflatingCaller(called::add, Update::key, tasks::add);
+
+        caller.callAll(List.of(new Update("a", 1), new Update("b", 1), new Update("a", 2), new Update("a", 3)));
+        Assertions.assertEquals(2, tasks.size()); // One task for each key
+
+        tasks.forEach(Runnable::run);
+        Assertions.assertEquals(List.of(new Update("a", 3), new Update("b", 1)), called);
+
+        tasks.clear();
+        called.clear();
+        caller.call(new Update("a", 4));
+        Assertions.assertEquals(1, tasks.size()); // The slot should be removed after draining
+        tasks.removeFirst().run();
+        Assertions.assertEquals(List.of(new Update("a", 4)), called);
+    }
+
+    @Test
+    void testMerge() {
+        var called = new ArrayList<Update>();
+        var tasks = new ArrayList<Runnable>();
+        var caller = EventCaller.<Update>conflatingCaller(called::add, Update::key, (pending, event) -> new Update(event.key(), pending.value() + event.value()), tasks::add);
+
+        caller.callAll(List.of(new Update("a", 1), new Update("a", 2), new Update("a", 3)));
+        tasks.forEach(Runnable::run);
+        Assertions.assertEquals(List.of(new Update("a", 6)), called);
+    }
+
+    @Test
+    void testEventsWhileCalling() {
+        var called = new ArrayList<Update>();
+        var tasks = new ArrayList<Runnable>();
+        var holder = new ArrayList<EventCaller<Update>>();
+        EventCaller<Update> original = event -> {
+            called.add(event);
+            if (event.value() == 1) {
+                // Events passed while calling are called by the same task after this event
+                holder.getFirst().call(new Update("a", 2));
+                holder.getFirst().call(new Update("a", 3));
+            } else if (event.value() == 3) {
+                throw new IllegalStateException();
+            }
+        };
+        var caller = EventCaller.conflatingCaller(original, Update::key, tasks::add);
+        holder.add(caller);
+
+        caller.call(new Update("a", 1));
+        var exception = new AtomicReference<Throwable>();
+        var thread = Thread.ofPlatform().uncaughtExceptionHandler((t, e) -> exception.set(e)).unstarted(tasks.removeFirst());
+        thread.start();
+        Assertions.assertDoesNotThrow(() -> thread.join());
+
+        Assertions.assertEquals(List.of(new Update("a", 1), new Update("a", 3)), called);
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.get());
+        Assertions.assertTrue(tasks.isEmpty());
+
+        caller.call(new Update("a", 4));
+        Assertions.assertEquals(1, tasks.size()); // The slot should be removed even if the last event throws an exception
+    }
+
+    @Test
+    void testNotConflated() {
+        var called = new ArrayList<Update>();
+        var tasks = new ArrayList<Runnable>();
+        var caller = EventCaller.<Update>conflatingCaller(called::add, Update::key, tasks::add);
+        var callback = new AtomicReference<Update>();
+
+        caller.call(new Update(null, 1));
+        caller.call(new Update(null, 2));
+        caller.call(new Update("a", 3), callback::set);
+        Assertions.assertEquals(3, tasks.size());
+
+        tasks.forEach(Runnable::run);
+        Assertions.assertEquals(List.of(new Update(null, 1), new Update(null, 2), new Update("a", 3)), called);
+        Assertions.assertEquals(new Update("a", 3), callback.get());
+    }
+
+    @Test
+    void testRejectedExecution() {
+        var tasks = new ArrayList<Runnable>();
+        var reject = new boolean[]{true};
+        var caller = EventCaller.<Update>conflatingCaller(event -> {
+        }, Update::key, task -> {
+            if (reject[0]) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(task);
+        });
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> caller.call(new Update("a", 1)));
+
+        reject[0] = false;
+        caller.call(new Update("a", 2));
+        Assertions.assertEquals(1, tasks.size()); // The rejected slot should not remain
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testNullArgument() {
+        EventCaller<Update> original = event -> {
+        };
+        var caller = EventCaller.conflatingCaller(original, Update::key, Runnable::run);
+
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.conflatingCaller(null, Update::key, Runnable::run));
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.conflatingCaller(original, null, Runnable::run));
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.conflatingCaller(original, Update::key, null, Runnable::run));
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.conflatingCaller(original, Update::key, null));
+        Assertions.assertThrows(NullPointerException.class, () -> caller.call(null));
+        Assertions.assertThrows(NullPointerException.class, () -> caller.call(new Update("a", 0), null));
+    }
+
+    private record Update(String key, int value) {
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+class PartitionedEventCallerTest {
+
+    @Test
+    void testOrderPerKey() throws InterruptedException {
+        var called = new ConcurrentHashMap<String, List<Integer>>();
+        var done = new CountDownLatch(400);
+        EventCaller<KeyedEvent> caller = EventCaller.partitionedCaller(event -> {
+            called.computeIfAbsent(event.key(), ignored -> Collections.synchronizedList(new ArrayList<>())).add(event.index());
+            done.countDown();
+        }, KeyedEvent::key);
+
+        for (int i = 0; i < 100; i++) {
+            for (var key : List.of("a", "b", "c", "d")) {
+                caller.call(new KeyedEvent(key, i));
+            }
+        }
+
+        Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+        var expected = new ArrayList<Integer>();
+        for (int i = 0; i < 100; i++) {
+            expected.add(i);
+        }
+        called.values().forEach(indices -> Assertions.assertEquals(expected, indices));
+    }
+
+    @Test
+    void testDifferentKeysRunConcurrently() throws InterruptedException {
+        var bCalled = new CountDownLatch(1);
+        var aCompleted = new CountDownLatch(1);
+        EventCaller<KeyedEvent> caller = EventCaller.partitionedCaller(event -> {
+            if (event.key().equals("a")) {
+                try {
+                    // The event of the key "b" should be called while this event is blocked.
+                    Assertions.assertTrue(bCalled.await(10, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                aCompleted.countDown();
+            } else {
+                bCalled.countDown();
+            }
+        }, KeyedEvent::key);
+
+        caller.call(new KeyedEvent("a", 0));
+        caller.call(new KeyedEvent("b", 0));
+        Assertions.assertTrue(aCompleted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testTasks() throws InterruptedException {
+        var called = new ArrayList<KeyedEvent>();
+        var tasks = new ArrayList<Runnable>();
+        EventCaller<KeyedEvent> caller = EventCaller.partitionedCaller(event -> {
+            called.add(event);
+            if (event.index() == 0) {
+                throw new IllegalStateException();
+            }
+        }, KeyedEvent::key, tasks::add);
+
+        var events = List.of(new KeyedEvent("a", 0), new KeyedEvent("a", 1), new KeyedEvent("a", 2));
+        caller.callAll(events);
+        Assertions.assertEquals(1, tasks.size()); // The events of the same key should be called by one task
+
+        var exception = new AtomicReference<Throwable>();
+        Thread.ofPlatform().uncaughtExceptionHandler((t, e) -> exception.set(e)).start(tasks.removeFirst()).join();
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.get());
+        Assertions.assertEquals(events, called); // Later events should be called even if the first event throws an exception
+
+        called.clear();
+        var callback = new AtomicReference<KeyedEvent>();
+        var event = new KeyedEvent("a", 3);
+        caller.call(event, callback::set);
+        Assertions.assertEquals(1, tasks.size()); // The partition should be removed after the queue is drained
+        tasks.removeFirst().run();
+        Assertions.assertEquals(List.of(event), called);
+        Assertions.assertSame(event, callback.get());
+
+        caller.call(new KeyedEvent(null, 4));
+        caller.call(new KeyedEvent(null, 5));
+        Assertions.assertEquals(2, tasks.size()); // The events without keys are not ordered
+    }
+
+    @Test
+    void testRejectedExecution() {
+        var tasks = new ArrayList<Runnable>();
+        var reject = new boolean[]{true};
+        EventCaller<KeyedEvent> caller = EventCaller.partitionedCaller(event -> {
+        }, KeyedEvent::key, task -> {
+            if (reject[0]) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(task);
+        });
+
+        Assertions.assertThrows(RejectedExecutionException.class, () -> caller.call(new KeyedEvent("a", 0)));
+
+        reject[0] = false;
+        caller.call(new KeyedEvent("a", 1));
+        Assertions.assertEquals(1, tasks.size()); // The rejected partition should not remain
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testNullArgument() {
+        EventCaller<KeyedEvent> caller = event -> {
+        };
+        var partitioned = EventCaller.partitionedCaller(caller, KeyedEvent::key, run -> {
+            throw new IllegalStateException("Unexpected executor call");
+        });
+
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.partitionedCaller(null, KeyedEvent::key));
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.partitionedCaller(caller, null));
+        Assertions.assertThrows(NullPointerException.class, () -> EventCaller.partitionedCaller(caller, KeyedEvent::key, null));
+        Assertions.assertThrows(NullPointerException.class, () -> partitioned.call(null));
+        Assertions.assertThrows(NullPointerException.class, () -> partitioned.call(new KeyedEvent("a", 0), null));
+        Assertions.assertThrows(NullPointerException.class, () -> partitioned.callAll(Arrays.asList(new KeyedEvent("a", 0), null)));
+    }
+
+    private record KeyedEvent(String key, int index) {
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.api.caller;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class RingBufferEventCallerTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int EVENTS_PER_PRODUCER = 2000;
+
+    @ParameterizedTest
+    @EnumSource(RingBufferEventCaller.WaitStrategy.class)
+    void testSingleConsumer(RingBufferEventCaller.WaitStrategy waitStrategy) throws InterruptedException {
+        var lastIndices = new int[PRODUCERS];
+        var outOfOrder = new AtomicInteger();
+        var called = new AtomicInteger();
+
+        // The consumer is a single thread, so the indices do not need to be synchronized.
+        EventCaller<ProducedEvent> caller = event -> {
+            if (lastIndices[event.producer()] != event.index()) {
+                outOfOrder.incrementAndGet();
+            }
+            lastIndices[event.producer()] = event.index() + 1;
+            called.incrementAndGet();
+        };
+
+        try (var ringBuffer = RingBufferEventCaller.builder(caller).bufferSize(64).waitStrategy(waitStrategy).build()) {
+            produce(ringBuffer);
+        }
+
+        Assertions.assertEquals(PRODUCERS * EVENTS_PER_PRODUCER, called.get());
+        Assertions.assertEquals(0, outOfOrder.get()); // The events of each producer should be called in order
+    }
+
+    @ParameterizedTest
+    @EnumSource(RingBufferEventCaller.WaitStrategy.class)
+    void testMultipleConsumers(RingBufferEventCaller.WaitStrategy waitStrategy) throws InterruptedException {
+        var called = ConcurrentHashMap.<ProducedEvent>newKeySet();
+        var duplicated = new AtomicInteger();
+        var threads = ConcurrentHashMap.<Thread>newKeySet();
+        EventCaller<ProducedEvent> caller = event -> {
+            threads.add(Thread.currentThread());
+            if (!called.add(event)) {
+                duplicated.incrementAndGet();
+            }
+        };
+
+        try (var ringBuffer = RingBufferEventCaller.builder(caller).bufferSize(64).consumers(3).waitStrategy(waitStrategy).build()) {
+            produce(ringBuffer);
+        }
+
+        Assertions.assertEquals(PRODUCERS * EVENTS_PER_PRODUCER, called.size());
+        Assertions.assertEquals(0, duplicated.get()); // Each event should be called once
+        Assertions.assertTrue(threads.size() <= 3);
+    }
+
+    @Test
+    void testBatch() throws InterruptedException {
+        var batchSizes = new ArrayList<Integer>();
+        var blocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var caller = new EventCaller<ProducedEvent>() {
+            @Override
+            public void call(ProducedEvent event) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void callAll(Collection<? extends ProducedEvent> events) {
+                batchSizes.add(events.size());
+                if (batchSizes.size() == 1) {
+                    blocked.countDown();
+                    await(release);
+                }
+            }
+        };
+
+        try (var ringBuffer = RingBufferEventCaller.builder(caller).bufferSize(16).maxBatchSize(4).build()) {
+            ringBuffer.call(new ProducedEvent(0, 0));
+            Assertions.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+            // Publish events while the consumer is blocked, so they are called in batches
+            for (int i = 1; i <= 10; i++) {
+                ringBuffer.call(new ProducedEvent(0, i));
+            }
+            release.countDown();
+        }
+
+        Assertions.assertEquals(List.of(1, 4, 4, 2), batchSizes);
+    }
+
+    @Test
+    void testException() {
+        var exception = new AtomicReference<Throwable>();
+        var called = new AtomicInteger();
+        EventCaller<ProducedEvent> caller = event -> {
+            if (event.index() == 0) {
+                throw new IllegalStateException();
+            }
+            called.incrementAndGet();
+        };
+        var threadFactory = Thread.ofPlatform().uncaughtExceptionHandler((t, e) -> exception.set(e)).factory();
+
+        try (var ringBuffer = RingBufferEventCaller.builder(caller).maxBatchSize(1).threadFactory(threadFactory).build()) {
+            ringBuffer.call(new ProducedEvent(0, 0));
+            ringBuffer.call(new ProducedEvent(0, 1));
+        }
+
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.get());
+        Assertions.assertEquals(1, called.get()); // The consumer should keep running
+    }
+
+    @Test
+    void testExceptionInBatch() throws InterruptedException {
+        var exceptions = new AtomicInteger();
+        var called = new ArrayList<Integer>();
+        var blocked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        EventCaller<ProducedEvent> caller = event -> {
+            if (event.index() == 0) {
+                blocked.countDown();
+                await(release);
+            } else if (event.index() % 3 == 0) {
+                throw new IllegalStateException();
+            }
+            called.add(event.index());
+        };
+        var threadFactory = Thread.ofPlatform().uncaughtExceptionHandler((t, e) -> exceptions.incrementAndGet()).factory();
+
+        try (var ringBuffer = RingBufferEventCaller.builder(caller).bufferSize(16).threadFactory(threadFactory).build()) {
+            ringBuffer.call(new ProducedEvent(0, 0));
+            Assertions.assertTrue(blocked.await(10, TimeUnit.SECONDS));
+
+            // Publish events while the consumer is blocked, so they are called in one batch
+            for (int i = 1; i <= 10; i++) {
+                ringBuffer.call(new ProducedEvent(0, i));
+            }
+            release.countDown();
+        }
+
+        Assertions.assertEquals(3, exceptions.get());
+        Assertions.assertEquals(List.of(0, 1, 2, 4, 5, 7, 8, 10), called); // The rest of the batch should be called
+    }
+
+    @ParameterizedTest
+    @EnumSource(RingBufferEventCaller.WaitStrategy.class)
+    void testSmallestBuffer(RingBufferEventCaller.WaitStrategy waitStrategy) throws InterruptedException {
+        var called = new AtomicInteger();
+        var outOfOrder = new AtomicInteger();
+        var lastIndices = new int[PRODUCERS];
+        EventCaller<ProducedEvent> caller = event -> {
+            if (lastIndices[event.producer()] != event.index()) {
+                outOfOrder.incrementAndGet();
+            }
+            lastIndices[event.producer()] = event.index() + 1;
+            called.incrementAndGet();
+        };
+
+        try (var ringBuffer = RingBufferEventCaller.builder(caller).bufferSize(1).waitStrategy(waitStrategy).build()) {
+            Assertions.assertEquals(2, ringBuffer.bufferSize());
+            produce(ringBuffer);
+        }
+
+        Assertions.assertEquals(PRODUCERS * EVENTS_PER_PRODUCER, called.get()); // Every event should be called once
+        Assertions.assertEquals(0, outOfOrder.get());
+    }
+
+    @Test
+    void testClose() {
+        var called = new AtomicInteger();
+        var ringBuffer = RingBufferEventCaller.<ProducedEvent>builder(event -> called.incrementAndGet()).build();
+
+        for (int i = 0; i < 100; i++) {
+            ringBuffer.call(new ProducedEvent(0, i));
+        }
+
+        ringBuffer.close();
+        Assertions.assertEquals(100, called.get()); // Published events should be called before closing
+        Assertions.assertThrows(IllegalStateException.class, () -> ringBuffer.call(new ProducedEvent(0, 100)));
+        ringBuffer.close(); // Closing twice should do nothing
+    }
+
+    @SuppressWarnings("DataFlowIssue")
+    @Test
+    void testBuilder() {
+        EventCaller<ProducedEvent> caller = event -> {
+        };
+        var builder = RingBufferEventCaller.builder(caller);
+
+        try (var ringBuffer = builder.bufferSize(100).build()) {
+            Assertions.assertEquals(128, ringBuffer.bufferSize());
+        }
+        try (var ringBuffer = builder.bufferSize(1).build()) {
+            Assertions.assertEquals(2, ringBuffer.bufferSize());
+        }
+
+        Assertions.assertThrows(NullPointerException.class, () -> RingBufferEventCaller.builder(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.bufferSize(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.bufferSize((1 << 30) + 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.consumers(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> builder.maxBatchSize(0));
+        Assertions.assertThrows(NullPointerException.class, () -> builder.waitStrategy(null));
+        Assertions.assertThrows(NullPointerException.class, () -> builder.threadFactory(null));
+    }
+
+    private static void produce(EventCaller<ProducedEvent> caller) throws InterruptedException {
+        var producers = new ArrayList<Thread>();
+        for (int i = 0; i < PRODUCERS; i++) {
+            int producer = i;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int index = 0; index < EVENTS_PER_PRODUCER; index++) {
+                    caller.call(new ProducedEvent(producer, index));
+                }
+            }));
+        }
+        for (var producer : producers) {
+            producer.join();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private record ProducedEvent(int producer, int index) {
+    }
+}
@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -51,6 +52,19 @@ class PriorityTest {
         );
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {-256, -128, -1, 0, 1, 128, 256})
+    void testCachedValue(int value) {
+        Assertions.assertSame(Priority.value(value), Priority.value(value));
+        Assertions.assertEquals(value, Priority.value(value).value());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {Integer.MIN_VALUE, -257, 257, Integer.MAX_VALUE})
+    void testUncachedValue(int value) {
+        Assertions.assertEquals(new Priority(value), Priority.value(value));
+    }
+
     @ParameterizedTest
     @MethodSource("testCasesForComparator")
     void testComparator(List<Priority> priorities) {
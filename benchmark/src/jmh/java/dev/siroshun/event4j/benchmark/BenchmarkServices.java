@@ -0,0 +1,85 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.benchmark;
+
+import dev.siroshun.event4j.api.listener.ListenerSubscriber;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.event.SampleEventHierarchy;
+import dev.siroshun.event4j.tree.TreeEventService;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.function.Consumer;
+
+final class BenchmarkServices {
+
+    static @NotNull TreeEventService<String, SampleEvent, Priority> newService() {
+        return newService(false);
+    }
+
+    static @NotNull TreeEventService<String, SampleEvent, Priority> newService(boolean compiledDispatch) {
+        return TreeEventService.factory()
+            .keyClass(String.class)
+            .eventClass(SampleEvent.class)
+            .defaultOrder(Priority.NORMAL)
+            .compiledDispatch(compiledDispatch)
+            .create();
+    }
+
+    /**
+     * Subscribes listeners to every class from {@link SampleEvent} to the class at the specified depth.
+     * <p>
+     * The listeners are spread over four distinct classes so that the call sites see a realistic type profile.
+     */
+    static void subscribeHierarchy(@NotNull ListenerSubscriber<String, SampleEvent, Priority> subscriber,
+                                   int depth, int listenersPerClass, @NotNull Blackhole blackhole) {
+        int index = 0;
+        for (var eventClass : SampleEventHierarchy.eventClasses(depth)) {
+            for (int i = 0; i < listenersPerClass; i++, index++) {
+                subscriber.subscribe(eventClass, "listener-" + index, newListener(index, blackhole), Priority.value(i % 3 - 1));
+            }
+        }
+    }
+
+    static @NotNull Consumer<SampleEvent> newListener(int index, @NotNull Blackhole blackhole) {
+        return switch (index & 3) {
+            case 0 -> blackhole::consume;
+            case 1 -> event -> blackhole.consume(event.hashCode());
+            case 2 -> event -> blackhole.consume(event.getClass());
+            default -> new Consumer<>() {
+                @Override
+                public void accept(SampleEvent event) {
+                    blackhole.consume(event);
+                }
+            };
+        };
+    }
+
+    private BenchmarkServices() {
+        throw new UnsupportedOperationException();
+    }
+}
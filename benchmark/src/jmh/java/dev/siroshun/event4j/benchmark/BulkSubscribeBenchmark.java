@@ -0,0 +1,92 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.benchmark;
+
+import dev.siroshun.event4j.api.listener.ListenerSubscriber;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.event.SampleEventHierarchy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures subscribing many listeners through {@link ListenerSubscriber.BulkSubscriber} and unsubscribing them at once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkSubscribeBenchmark {
+
+    @Param({"10", "500"})
+    public int listeners;
+
+    @Param({"0", "5"})
+    public int depth;
+
+    private ListenerSubscriber<String, SampleEvent, Priority> subscriber;
+    private Consumer<SampleEvent>[] consumers;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Setup
+    public void setup(Blackhole blackhole) {
+        var service = BenchmarkServices.newService();
+        BenchmarkServices.subscribeHierarchy(service.subscriber(), this.depth, 10, blackhole);
+        this.subscriber = service.subscriber();
+        this.consumers = new Consumer[this.listeners];
+
+        for (int i = 0; i < this.listeners; i++) {
+            this.consumers[i] = BenchmarkServices.newListener(i, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void subscribeAndUnsubscribeAll() {
+        var bulk = this.subscriber.bulkSubscriber();
+        var classes = SampleEventHierarchy.eventClasses(this.depth);
+
+        for (int i = 0; i < this.listeners; i++) {
+            bulk.add(classes.get(i % classes.size()), "bulk", this.consumers[i], Priority.value(i % 5));
+        }
+
+        this.subscriber.unsubscribeAll(bulk.subscribe());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.benchmark;
+
+import dev.siroshun.event4j.api.caller.EventCaller;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.event.SampleEventHierarchy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EventCaller#call(Object)} throughput by the depth of the event hierarchy, the number of listeners per class,
+ * and whether the compiled dispatch is enabled. {@link #callBound()} calls through the caller of {@link EventCaller#forClass(Class)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"0", "2", "5", "8"})
+    public int depth;
+
+    @Param({"0", "1", "5", "20"})
+    public int listenersPerClass;
+
+    @Param({"false", "true"})
+    public boolean compiledDispatch;
+
+    private EventCaller<SampleEvent> caller;
+    private EventCaller<SampleEvent> boundCaller;
+    private SampleEvent event;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        var service = BenchmarkServices.newService(this.compiledDispatch);
+        BenchmarkServices.subscribeHierarchy(service.subscriber(), this.depth, this.listenersPerClass, blackhole);
+        this.caller = service.caller();
+        this.event = SampleEventHierarchy.newEvent(this.depth);
+        this.boundCaller = bind(this.caller, this.event.getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends SampleEvent> EventCaller<SampleEvent> bind(EventCaller<SampleEvent> caller, Class<T> eventClass) {
+        // The bound caller only receives the event of the class, so it is safe to call it as EventCaller<SampleEvent>.
+        return (EventCaller<SampleEvent>) caller.forClass(eventClass);
+    }
+
+    @Benchmark
+    public void call() {
+        this.caller.call(this.event);
+    }
+
+    @Benchmark
+    public void callBound() {
+        this.boundCaller.call(this.event);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void callContended() {
+        this.caller.call(this.event);
+    }
+}
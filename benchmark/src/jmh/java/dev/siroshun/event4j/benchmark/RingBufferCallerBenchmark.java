@@ -0,0 +1,103 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.benchmark;
+
+import dev.siroshun.event4j.api.caller.RingBufferEventCaller;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the end-to-end throughput of {@link RingBufferEventCaller}, to compare with {@link AsyncCallerBenchmark}.
+ * <p>
+ * Each invocation publishes {@link #BATCH_SIZE} events and waits until all of them have been handled.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RingBufferCallerBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1", "4"})
+    public int consumers;
+
+    @Param({"BUSY_SPIN", "BLOCKING"})
+    public RingBufferEventCaller.WaitStrategy waitStrategy;
+
+    private RingBufferEventCaller<SampleEvent> caller;
+    private Phaser phaser;
+    private SampleEvent event;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        var service = BenchmarkServices.newService();
+        BenchmarkServices.subscribeHierarchy(service.subscriber(), 0, 5, blackhole);
+        service.subscriber().subscribe(SampleEvent.class, "phaser", event -> this.phaser.arriveAndDeregister());
+
+        this.caller = RingBufferEventCaller.builder(service.caller())
+            .consumers(this.consumers)
+            .waitStrategy(this.waitStrategy)
+            .build();
+        this.event = new SampleEvent();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.caller.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void call() {
+        this.phaser = new Phaser(BATCH_SIZE + 1);
+
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.caller.call(this.event);
+        }
+
+        this.phaser.arriveAndAwaitAdvance();
+    }
+}
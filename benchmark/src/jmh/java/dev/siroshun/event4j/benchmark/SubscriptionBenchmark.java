@@ -0,0 +1,127 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.benchmark;
+
+import dev.siroshun.event4j.api.caller.EventCaller;
+import dev.siroshun.event4j.api.listener.ListenerSubscriber;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.event.SampleEventHierarchy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures the cost of subscribing and unsubscribing listeners, alone and while other threads are calling events.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionBenchmark {
+
+    private static final int DEPTH = 3;
+
+    @Param({"10", "1000"})
+    public int existingListeners;
+
+    private ListenerSubscriber<String, SampleEvent, Priority> subscriber;
+    private EventCaller<SampleEvent> caller;
+    private SampleEvent event;
+    private Consumer<SampleEvent> listener;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        var service = BenchmarkServices.newService();
+        BenchmarkServices.subscribeHierarchy(service.subscriber(), DEPTH, this.existingListeners / (DEPTH + 1), blackhole);
+        this.subscriber = service.subscriber();
+        this.caller = service.caller();
+        this.event = SampleEventHierarchy.newEvent(DEPTH);
+        this.listener = BenchmarkServices.newListener(0, blackhole);
+    }
+
+    @Benchmark
+    public void subscribeAndUnsubscribe() {
+        this.subscriber.unsubscribe(this.subscriber.subscribe(SampleEvent.class, "churn", this.listener));
+    }
+
+    @Benchmark
+    public void subscribeAndUnsubscribeIf() {
+        this.subscriber.subscribe(SampleEvent.class, "churn", this.listener);
+        this.subscriber.unsubscribeIf(listener -> listener.key().equals("churn"));
+    }
+
+    @Benchmark
+    public void subscribeAndUnsubscribeByKey() {
+        this.subscriber.subscribe(SampleEvent.class, "churn", this.listener);
+        this.subscriber.unsubscribeByKey("churn");
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public void churnSubscription() {
+        this.subscriber.unsubscribe(this.subscriber.subscribe(SampleEvent.class, "churn", this.listener));
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(3)
+    public void churnCall() {
+        this.caller.call(this.event);
+    }
+
+    @Benchmark
+    @Group("churnByKey")
+    @GroupThreads(1)
+    public void churnByKeySubscription() {
+        this.subscriber.subscribe(SampleEvent.class, "churn", this.listener);
+        this.subscriber.unsubscribeByKey("churn");
+    }
+
+    @Benchmark
+    @Group("churnByKey")
+    @GroupThreads(3)
+    public void churnByKeyCall() {
+        this.caller.call(this.event);
+    }
+}
@@ -40,6 +40,7 @@ rootProject.name = "event4j"
 addProject("api")
 addProject("tree")
 addProject("test-helper")
+addProject("benchmark")
 
 fun addProject(name: String) {
     include("${rootProject.name}-$name")
@@ -0,0 +1,93 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.test.helper.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+public final class SampleEventHierarchy {
+
+    public static final int MAX_DEPTH = 8;
+
+    private static final List<Class<? extends SampleEvent>> CLASSES = List.of(
+        SampleEvent.class, Depth1.class, Depth2.class, Depth3.class, Depth4.class,
+        Depth5.class, Depth6.class, Depth7.class, Depth8.class
+    );
+
+    private static final List<Supplier<? extends SampleEvent>> CONSTRUCTORS = List.of(
+        SampleEvent::new, Depth1::new, Depth2::new, Depth3::new, Depth4::new,
+        Depth5::new, Depth6::new, Depth7::new, Depth8::new
+    );
+
+    public static @NotNull Class<? extends SampleEvent> eventClass(int depth) {
+        return CLASSES.get(checkDepth(depth));
+    }
+
+    public static @NotNull List<Class<? extends SampleEvent>> eventClasses(int depth) {
+        return CLASSES.subList(0, checkDepth(depth) + 1);
+    }
+
+    public static @NotNull SampleEvent newEvent(int depth) {
+        return CONSTRUCTORS.get(checkDepth(depth)).get();
+    }
+
+    private static int checkDepth(int depth) {
+        if (depth < 0 || MAX_DEPTH < depth) {
+            throw new IllegalArgumentException("depth must be between 0 and " + MAX_DEPTH + ": " + depth);
+        }
+        return depth;
+    }
+
+    private SampleEventHierarchy() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static class Depth1 extends SampleEvent {
+    }
+
+    public static class Depth2 extends Depth1 {
+    }
+
+    public static class Depth3 extends Depth2 {
+    }
+
+    public static class Depth4 extends Depth3 {
+    }
+
+    public static class Depth5 extends Depth4 {
+    }
+
+    public static class Depth6 extends Depth5 {
+    }
+
+    public static class Depth7 extends Depth6 {
+    }
+
+    public static class Depth8 extends Depth7 {
+    }
+}
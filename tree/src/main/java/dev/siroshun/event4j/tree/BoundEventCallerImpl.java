@@ -0,0 +1,83 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.caller.EventCaller;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * An {@link EventCaller} that holds the {@link EventClassState} of one event class.
+ * <p>
+ * Events of exactly the bound class skip the {@link ClassValue} lookup,
+ * and the others are passed to the {@link EventCallerImpl} that created this caller.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ * @param <T> the bound event type
+ */
+record BoundEventCallerImpl<K, E, O, T extends E>(@NotNull EventCallerImpl<K, E, O> parent,
+                                                  @NotNull Class<T> eventClass,
+                                                  @NotNull EventClassState<K, E, O> state) implements EventCaller<T> {
+
+    @Override
+    public void call(@NotNull T event) {
+        Objects.requireNonNull(event);
+
+        if (event.getClass() != this.eventClass) {
+            this.parent.call(event);
+            return;
+        }
+
+        this.parent.dispatch(this.state, this.parent.listenerList().dispatchPlan(this.state), event);
+    }
+
+    @Override
+    public void callAll(@NotNull Collection<? extends T> events) {
+        this.parent.callAll(events);
+    }
+
+    @Override
+    public boolean hasListeners(@NotNull Class<? extends T> eventClass) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        var state = eventClass == this.eventClass ? this.state : this.parent.listenerList().classState(eventClass);
+        return this.parent.listenerList().dispatchPlan(state).hasListeners();
+    }
+
+    @Override
+    public <T1 extends T> void call(@NotNull Class<T1> eventClass, @NotNull Supplier<? extends T1> supplier) {
+        this.parent.call(eventClass, supplier);
+    }
+
+    @Override
+    public <T1 extends T> @NotNull EventCaller<T1> forClass(@NotNull Class<T1> eventClass) {
+        return this.parent.forClass(eventClass);
+    }
+}
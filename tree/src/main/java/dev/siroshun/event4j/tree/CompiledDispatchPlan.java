@@ -0,0 +1,75 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A {@link DispatchPlan} that calls listeners through {@link CompiledInvoker}s.
+ * <p>
+ * The invokers are reused if the listeners are the same as the previous plan,
+ * so modifying listeners of other event classes does not define new hidden classes.
+ * Plans that have more than {@link CompiledInvokers#MAX_LISTENERS} listeners are not compiled, and call listeners in a loop.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+final class CompiledDispatchPlan<K, E, O> extends DispatchPlan<K, E, O> {
+
+    static <K, E, O> @NotNull DispatchPlan<K, E, O> create(long generation, SubscribedListener<K, ? extends E, O> @NotNull [] listeners,
+                                                           @Nullable DispatchPlan<K, E, O> previous) {
+        if (!CompiledInvokers.canCompile(listeners)) {
+            return DispatchPlan.create(generation, listeners, previous); // Keeps the invoker chain short; a large plan gains little from inlining
+        }
+
+        var invoker = previous instanceof CompiledDispatchPlan<K, E, O> compiled && compiled.hasSameListeners(listeners) ?
+            compiled.invoker :
+            CompiledInvokers.compile(listeners);
+        return new CompiledDispatchPlan<>(generation, listeners, invoker);
+    }
+
+    private final CompiledInvoker<K, E, O> invoker;
+
+    private CompiledDispatchPlan(long generation, SubscribedListener<K, ? extends E, O> @NotNull [] listeners,
+                                 @NotNull CompiledInvoker<K, E, O> invoker) {
+        super(generation, listeners);
+        this.invoker = invoker;
+    }
+
+    @NotNull CompiledInvoker<K, E, O> invoker() {
+        return this.invoker;
+    }
+
+    @Override
+    int post(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        int stoppedAt = this.invoker.invoke(event, exceptionHandler);
+        return stoppedAt < 0 ? this.listeners().length : stopped(stoppedAt + 1);
+    }
+}
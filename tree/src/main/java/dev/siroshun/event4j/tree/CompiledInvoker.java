@@ -0,0 +1,50 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An invoker of the compiled dispatch, that calls a chunk of up to {@link CompiledInvokerTemplate#SIZE} listeners and then the next invoker.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ * @see CompiledInvokers
+ */
+interface CompiledInvoker<K, E, O> {
+
+    /**
+     * Calls the listeners of this invoker and the following invokers.
+     *
+     * @param event            the event instance
+     * @param exceptionHandler the {@link ListenerExceptionHandler}
+     * @return the index of the listener that has stopped calling listeners by {@link ListenerExceptionHandler.Result#BREAK}, or {@code -1} if all listeners have been called
+     */
+    int invoke(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler);
+
+}
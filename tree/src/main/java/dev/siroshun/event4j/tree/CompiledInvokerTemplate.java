@@ -0,0 +1,245 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * The template of {@link CompiledInvoker}.
+ * <p>
+ * {@link CompiledInvokers} defines a hidden class from the bytecode of this class for each chunk of {@link #SIZE} listeners,
+ * so that each {@code consumer.accept} is a separate call site that gets its own type profile and can be inlined by the JIT compiler.
+ * The listener calls are unrolled in this class, and the slots after the last listener are filled with a no-op consumer.
+ * <p>
+ * This class must be a top-level class and must not use lambdas or switches on enums, which need other classes (nest members) to work.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+final class CompiledInvokerTemplate<K, E, O> implements CompiledInvoker<K, E, O> {
+
+    /**
+     * The number of listeners that an invoker calls.
+     */
+    static final int SIZE = 16;
+
+    private final SubscribedListener<K, ? extends E, O>[] listeners;
+    private final int offset;
+    private final CompiledInvoker<K, E, O> next;
+    private final Consumer<Object> consumer0;
+    private final Consumer<Object> consumer1;
+    private final Consumer<Object> consumer2;
+    private final Consumer<Object> consumer3;
+    private final Consumer<Object> consumer4;
+    private final Consumer<Object> consumer5;
+    private final Consumer<Object> consumer6;
+    private final Consumer<Object> consumer7;
+    private final Consumer<Object> consumer8;
+    private final Consumer<Object> consumer9;
+    private final Consumer<Object> consumer10;
+    private final Consumer<Object> consumer11;
+    private final Consumer<Object> consumer12;
+    private final Consumer<Object> consumer13;
+    private final Consumer<Object> consumer14;
+    private final Consumer<Object> consumer15;
+
+    CompiledInvokerTemplate(@NotNull SubscribedListener<K, ? extends E, O> @NotNull [] listeners, int offset,
+                            @NotNull Consumer<Object> @NotNull [] consumers, @NotNull CompiledInvoker<K, E, O> next) {
+        this.listeners = listeners;
+        this.offset = offset;
+        this.next = next;
+        this.consumer0 = consumers[0];
+        this.consumer1 = consumers[1];
+        this.consumer2 = consumers[2];
+        this.consumer3 = consumers[3];
+        this.consumer4 = consumers[4];
+        this.consumer5 = consumers[5];
+        this.consumer6 = consumers[6];
+        this.consumer7 = consumers[7];
+        this.consumer8 = consumers[8];
+        this.consumer9 = consumers[9];
+        this.consumer10 = consumers[10];
+        this.consumer11 = consumers[11];
+        this.consumer12 = consumers[12];
+        this.consumer13 = consumers[13];
+        this.consumer14 = consumers[14];
+        this.consumer15 = consumers[15];
+    }
+
+    @Override
+    public int invoke(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        try {
+            this.consumer0.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(0, event, exceptionHandler, e)) {
+                return this.offset + 0;
+            }
+        }
+
+        try {
+            this.consumer1.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(1, event, exceptionHandler, e)) {
+                return this.offset + 1;
+            }
+        }
+
+        try {
+            this.consumer2.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(2, event, exceptionHandler, e)) {
+                return this.offset + 2;
+            }
+        }
+
+        try {
+            this.consumer3.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(3, event, exceptionHandler, e)) {
+                return this.offset + 3;
+            }
+        }
+
+        try {
+            this.consumer4.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(4, event, exceptionHandler, e)) {
+                return this.offset + 4;
+            }
+        }
+
+        try {
+            this.consumer5.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(5, event, exceptionHandler, e)) {
+                return this.offset + 5;
+            }
+        }
+
+        try {
+            this.consumer6.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(6, event, exceptionHandler, e)) {
+                return this.offset + 6;
+            }
+        }
+
+        try {
+            this.consumer7.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(7, event, exceptionHandler, e)) {
+                return this.offset + 7;
+            }
+        }
+
+        try {
+            this.consumer8.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(8, event, exceptionHandler, e)) {
+                return this.offset + 8;
+            }
+        }
+
+        try {
+            this.consumer9.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(9, event, exceptionHandler, e)) {
+                return this.offset + 9;
+            }
+        }
+
+        try {
+            this.consumer10.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(10, event, exceptionHandler, e)) {
+                return this.offset + 10;
+            }
+        }
+
+        try {
+            this.consumer11.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(11, event, exceptionHandler, e)) {
+                return this.offset + 11;
+            }
+        }
+
+        try {
+            this.consumer12.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(12, event, exceptionHandler, e)) {
+                return this.offset + 12;
+            }
+        }
+
+        try {
+            this.consumer13.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(13, event, exceptionHandler, e)) {
+                return this.offset + 13;
+            }
+        }
+
+        try {
+            this.consumer14.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(14, event, exceptionHandler, e)) {
+                return this.offset + 14;
+            }
+        }
+
+        try {
+            this.consumer15.accept(event);
+        } catch (Throwable e) {
+            if (!this.handleException(15, event, exceptionHandler, e)) {
+                return this.offset + 15;
+            }
+        }
+
+        return this.next.invoke(event, exceptionHandler);
+    }
+
+    private boolean handleException(int slot, @NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler, @NotNull Throwable exception) {
+        var result = exceptionHandler.handleException(event, this.listeners[this.offset + slot], exception);
+        if (result == ListenerExceptionHandler.Result.BREAK) {
+            return false;
+        } else if (result == ListenerExceptionHandler.Result.RETHROW) {
+            rethrow(exception);
+            throw new Error(exception);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> void rethrow(@NotNull Throwable exception) throws T {
+        throw (T) exception;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+final class CompiledInvokers {
+
+    /**
+     * The maximum number of listeners that can be compiled.
+     * <p>
+     * This bounds the number of hidden classes per plan and the depth of the invoker chain.
+     */
+    static final int MAX_LISTENERS = CompiledInvokerTemplate.SIZE * 4;
+
+    private static final CompiledInvoker<?, ?, ?> END = new End<>();
+    private static final Consumer<Object> NOOP = new Noop();
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, SubscribedListener[].class, int.class, Consumer[].class, CompiledInvoker.class);
+    private static final byte[] TEMPLATE = readTemplate();
+
+    private static byte @NotNull [] readTemplate() {
+        var resource = CompiledInvokerTemplate.class.getSimpleName() + ".class";
+        try (InputStream in = Objects.requireNonNull(CompiledInvokerTemplate.class.getResourceAsStream(resource), resource)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Checks if the specified listeners can be compiled.
+     *
+     * @param listeners the listeners to call
+     * @return {@code true} if the number of listeners does not exceed {@link #MAX_LISTENERS}
+     */
+    static boolean canCompile(SubscribedListener<?, ?, ?> @NotNull [] listeners) {
+        return listeners.length <= MAX_LISTENERS;
+    }
+
+    /**
+     * Creates a chain of {@link CompiledInvoker}s that calls the specified listeners in order.
+     * <p>
+     * Each chunk of {@link CompiledInvokerTemplate#SIZE} listeners gets a new hidden class, which is unloaded with the returned invoker.
+     *
+     * @param listeners the listeners to call
+     * @param <K>       the key type
+     * @param <E>       the event type
+     * @param <O>       the order type
+     * @return the first {@link CompiledInvoker} of the chain
+     * @throws IllegalArgumentException if the listeners cannot be compiled
+     * @see #canCompile(SubscribedListener[])
+     */
+    @SuppressWarnings("unchecked")
+    static <K, E, O> @NotNull CompiledInvoker<K, E, O> compile(SubscribedListener<K, ? extends E, O> @NotNull [] listeners) {
+        if (!canCompile(listeners)) {
+            throw new IllegalArgumentException("Too many listeners to compile: " + listeners.length);
+        }
+
+        var invoker = (CompiledInvoker<K, E, O>) END;
+        int size = CompiledInvokerTemplate.SIZE;
+
+        for (int offset = (listeners.length + size - 1) / size * size - size; 0 <= offset; offset -= size) {
+            invoker = newInvoker(listeners, offset, invoker);
+        }
+
+        return invoker;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, E, O> @NotNull CompiledInvoker<K, E, O> newInvoker(SubscribedListener<K, ? extends E, O> @NotNull [] listeners, int offset,
+                                                                         @NotNull CompiledInvoker<K, E, O> next) {
+        var consumers = (Consumer<Object>[]) new Consumer[CompiledInvokerTemplate.SIZE];
+        for (int i = 0; i < consumers.length; i++) {
+            consumers[i] = offset + i < listeners.length ? (Consumer<Object>) listeners[offset + i].consumer() : NOOP;
+        }
+
+        try {
+            var lookup = MethodHandles.lookup().defineHiddenClass(TEMPLATE, true);
+            return (CompiledInvoker<K, E, O>) lookup.findConstructor(lookup.lookupClass(), CONSTRUCTOR_TYPE).invoke(listeners, offset, consumers, next);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not define an invoker for " + listeners[offset], e);
+        }
+    }
+
+    private CompiledInvokers() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final class Noop implements Consumer<Object> {
+        @Override
+        public void accept(Object event) {
+        }
+    }
+
+    private static final class End<K, E, O> implements CompiledInvoker<K, E, O> {
+        @Override
+        public int invoke(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An interface to run hooks around dispatching events and calling listeners, such as opening tracing spans.
+ * <p>
+ * The hooks are called on the thread that calls the listeners.
+ * Each {@code before} hook returns a {@code long} token that is passed to the corresponding {@code after} hook,
+ * so interceptors can carry their state, such as a span id or a previous context, without allocating objects.
+ * <p>
+ * Interceptors are nested in the order of registration: the {@code before} hooks are called in that order,
+ * and the {@code after} hooks are called in the reverse order.
+ * The {@code after} hooks are always called once the {@code before} hooks have returned, even if a listener throws an exception.
+ * Exceptions thrown by the hooks themselves are propagated to the caller of the event.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ * @see TreeEventService.Factory#addDispatchInterceptor(DispatchInterceptor)
+ */
+public interface DispatchInterceptor<K, E, O> {
+
+    /**
+     * Called before the event is dispatched to its listeners.
+     * <p>
+     * This is not called for events that have no listeners.
+     *
+     * @param event the event instance
+     * @return the token to pass to {@link #afterEvent(Object, long, boolean)}
+     */
+    default long beforeEvent(@NotNull E event) {
+        return 0;
+    }
+
+    /**
+     * Called after the event is dispatched to its listeners.
+     *
+     * @param event     the event instance
+     * @param token     the token returned from {@link #beforeEvent(Object)}
+     * @param completed {@code false} if calling listeners has been stopped by {@link ListenerExceptionHandler.Result#BREAK} or an exception, otherwise {@code true}
+     */
+    default void afterEvent(@NotNull E event, long token, boolean completed) {
+    }
+
+    /**
+     * Called before the listener is called.
+     *
+     * @param event    the event instance
+     * @param listener the {@link SubscribedListener} to call
+     * @return the token to pass to {@link #afterListener(Object, SubscribedListener, long, Throwable)}
+     */
+    default long beforeListener(@NotNull E event, @NotNull SubscribedListener<K, ? extends E, O> listener) {
+        return 0;
+    }
+
+    /**
+     * Called after the listener is called, and before its exception is passed to the {@link ListenerExceptionHandler}.
+     *
+     * @param event     the event instance
+     * @param listener  the {@link SubscribedListener} that has been called
+     * @param token     the token returned from {@link #beforeListener(Object, SubscribedListener)}
+     * @param exception the exception thrown by the listener, or {@code null} if the listener has returned normally
+     */
+    default void afterListener(@NotNull E event, @NotNull SubscribedListener<K, ? extends E, O> listener, long token, @Nullable Throwable exception) {
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.SlowListenerHandler;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+record DispatchOptions(boolean compiledDispatch, @Nullable Executor parallelExecutor, boolean listenerMetrics,
+                       @Nullable Function<?, @Nullable Duration> listenerBudgets, @Nullable SlowListenerHandler<?, ?, ?> slowListenerHandler,
+                       boolean eventClassStatistics, @NotNull List<DispatchInterceptor<?, ?, ?>> interceptors) {
+
+    static final DispatchOptions DEFAULT = new DispatchOptions(false, null, false, null, null, false, List.of());
+
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull DispatchOptions withCompiledDispatch(boolean compiledDispatch) {
+        return new DispatchOptions(compiledDispatch, this.parallelExecutor, this.listenerMetrics, this.listenerBudgets, this.slowListenerHandler, this.eventClassStatistics, this.interceptors);
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull DispatchOptions withParallelExecutor(@Nullable Executor parallelExecutor) {
+        return new DispatchOptions(this.compiledDispatch, parallelExecutor, this.listenerMetrics, this.listenerBudgets, this.slowListenerHandler, this.eventClassStatistics, this.interceptors);
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull DispatchOptions withListenerMetrics(boolean listenerMetrics) {
+        return new DispatchOptions(this.compiledDispatch, this.parallelExecutor, listenerMetrics, this.listenerBudgets, this.slowListenerHandler, this.eventClassStatistics, this.interceptors);
+    }
+
+    @Contract(value = "_, _ -> new", pure = true)
+    @NotNull DispatchOptions withSlowListenerWatchdog(@NotNull Function<?, @Nullable Duration> listenerBudgets, @NotNull SlowListenerHandler<?, ?, ?> slowListenerHandler) {
+        return new DispatchOptions(this.compiledDispatch, this.parallelExecutor, this.listenerMetrics, listenerBudgets, slowListenerHandler, this.eventClassStatistics, this.interceptors);
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull DispatchOptions withEventClassStatistics(boolean eventClassStatistics) {
+        return new DispatchOptions(this.compiledDispatch, this.parallelExecutor, this.listenerMetrics, this.listenerBudgets, this.slowListenerHandler, eventClassStatistics, this.interceptors);
+    }
+
+    @Contract(value = "_ -> new", pure = true)
+    @NotNull DispatchOptions withDispatchInterceptor(@NotNull DispatchInterceptor<?, ?, ?> interceptor) {
+        var interceptors = new ArrayList<DispatchInterceptor<?, ?, ?>>(this.interceptors.size() + 1);
+        interceptors.addAll(this.interceptors);
+        interceptors.add(interceptor);
+        return new DispatchOptions(this.compiledDispatch, this.parallelExecutor, this.listenerMetrics, this.listenerBudgets, this.slowListenerHandler, this.eventClassStatistics, List.copyOf(interceptors));
+    }
+
+    @SuppressWarnings("unchecked")
+    <K, E, O> @NotNull DispatchInterceptor<K, E, O> @NotNull [] dispatchInterceptors() {
+        return this.interceptors.toArray(DispatchInterceptor[]::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    <K, E, O> @Nullable SlowListenerWatchdog<K, E, O> slowListenerWatchdog() {
+        if (this.listenerBudgets == null || this.slowListenerHandler == null) {
+            return null;
+        }
+        return new SlowListenerWatchdog<>((Function<? super K, @Nullable Duration>) this.listenerBudgets, (SlowListenerHandler<K, E, O>) this.slowListenerHandler);
+    }
+
+    <K, E, O> DispatchPlan.@NotNull Factory<K, E, O> planFactory(@NotNull Comparator<? super O> orderComparator) {
+        if (!this.interceptors.isEmpty()) {
+            return InterceptedDispatchPlan.factory(this.dispatchInterceptors());
+        }
+        if (this.parallelExecutor != null) {
+            return ParallelDispatchPlan.factory(this.parallelExecutor, orderComparator);
+        }
+        return this.compiledDispatch ? CompiledDispatchPlan::create : DispatchPlan::create;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+class DispatchPlan<K, E, O> {
+
+    static <K, E, O> @NotNull DispatchPlan<K, E, O> create(long generation, SubscribedListener<K, ? extends E, O> @NotNull [] listeners,
+                                                           @Nullable DispatchPlan<K, E, O> previous) {
+        return new DispatchPlan<>(generation, listeners);
+    }
+
+    private final long generation;
+    private final SubscribedListener<K, ? extends E, O>[] listeners;
+    private final boolean hasListeners;
+
+    DispatchPlan(long generation, SubscribedListener<K, ? extends E, O> @NotNull [] listeners) {
+        this.generation = generation;
+        this.listeners = listeners;
+        this.hasListeners = listeners.length != 0;
+    }
+
+    long generation() {
+        return this.generation;
+    }
+
+    boolean hasListeners() {
+        return this.hasListeners;
+    }
+
+    SubscribedListener<K, ? extends E, O> @NotNull [] listeners() {
+        return this.listeners;
+    }
+
+    /**
+     * Creates the result of {@link #post(Object, ListenerExceptionHandler)} that has been stopped by {@link ListenerExceptionHandler.Result#BREAK}.
+     *
+     * @param reached the number of listeners that have been called, including the one that has stopped the dispatch
+     * @return the negative result
+     */
+    static int stopped(int reached) {
+        return ~reached;
+    }
+
+    /**
+     * Checks if the result of {@link #post(Object, ListenerExceptionHandler)} has not been stopped by {@link ListenerExceptionHandler.Result#BREAK}.
+     *
+     * @param result the result of posting an event
+     * @return {@code true} if the dispatch has been completed
+     */
+    static boolean isCompleted(int result) {
+        return 0 <= result;
+    }
+
+    /**
+     * Gets the number of listeners that have been called from the result of {@link #post(Object, ListenerExceptionHandler)}.
+     *
+     * @param result the result of posting an event
+     * @return the number of listeners that have been called
+     */
+    static int reachedListeners(int result) {
+        return 0 <= result ? result : ~result;
+    }
+
+    /**
+     * Posts the event to the listeners.
+     *
+     * @param event            the event instance
+     * @param exceptionHandler the {@link ListenerExceptionHandler}
+     * @return the number of listeners that have been called, or {@link #stopped(int)} of it if calling listeners has been stopped by {@link ListenerExceptionHandler.Result#BREAK}
+     */
+    @SuppressWarnings({"unchecked", "UnnecessaryContinue"})
+    int post(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        var listeners = this.listeners;
+
+        for (int i = 0; i < listeners.length; i++) {
+            var listener = listeners[i];
+            try {
+                ((Consumer<Object>) listener.consumer()).accept(event);
+            } catch (Throwable e) {
+                switch (exceptionHandler.handleException(event, listener, e)) {
+                    case BREAK -> {
+                        return stopped(i + 1);
+                    }
+                    case CONTINUE -> {
+                        continue;
+                    }
+                    case RETHROW -> {
+                        rethrow(e);
+                        throw new Error(e);
+                    }
+                }
+            }
+        }
+
+        return listeners.length;
+    }
+
+    /**
+     * Posts the event, and records the Java Flight Recorder events if they are enabled.
+     *
+     * @param event            the event instance
+     * @param exceptionHandler the {@link ListenerExceptionHandler}
+     * @return the result of {@link #post(Object, ListenerExceptionHandler)}
+     */
+    final int dispatch(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        return FlightRecorderEvents.isDispatchEnabled() ?
+            FlightRecorderEvents.dispatch(this, event, exceptionHandler) :
+            this.post(event, exceptionHandler);
+    }
+
+    /**
+     * Posts the event while recording the invocation of each listener.
+     * <p>
+     * Plans that call listeners in their own way may override this to keep their behavior.
+     *
+     * @param event            the event instance
+     * @param exceptionHandler the {@link ListenerExceptionHandler}
+     * @return the result of {@link #post(Object, ListenerExceptionHandler)}
+     */
+    @SuppressWarnings({"unchecked", "UnnecessaryContinue"})
+    int postRecordingListeners(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        var listeners = this.listeners;
+
+        for (int i = 0; i < listeners.length; i++) {
+            var listener = listeners[i];
+            var invocation = FlightRecorderEvents.beginListenerInvocation();
+            Throwable thrown = null;
+
+            try {
+                ((Consumer<Object>) listener.consumer()).accept(event);
+            } catch (Throwable e) {
+                thrown = e;
+            }
+
+            FlightRecorderEvents.endListenerInvocation(invocation, listener, thrown != null);
+
+            if (thrown != null) {
+                switch (exceptionHandler.handleException(event, listener, thrown)) {
+                    case BREAK -> {
+                        return stopped(i + 1);
+                    }
+                    case CONTINUE -> {
+                        continue;
+                    }
+                    case RETHROW -> {
+                        rethrow(thrown);
+                        throw new Error(thrown);
+                    }
+                }
+            }
+        }
+
+        return listeners.length;
+    }
+
+    /**
+     * Checks if this plan has the same listeners as the specified array, in the same order.
+     *
+     * @param listeners the listeners to compare
+     * @return {@code true} if all listeners are identical, otherwise {@code false}
+     */
+    boolean hasSameListeners(SubscribedListener<K, ? extends E, O> @NotNull [] listeners) {
+        if (this.listeners.length != listeners.length) {
+            return false;
+        }
+
+        for (int i = 0; i < listeners.length; i++) {
+            if (this.listeners[i] != listeners[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> void rethrow(@NotNull Throwable exception) throws T {
+        throw (T) exception;
+    }
+
+    /**
+     * A factory to create {@link DispatchPlan}s, which decides how the listeners are called.
+     *
+     * @param <K> the key type
+     * @param <E> the event type
+     * @param <O> the order type
+     */
+    @FunctionalInterface
+    interface Factory<K, E, O> {
+
+        /**
+         * Creates a new {@link DispatchPlan}.
+         *
+         * @param generation the generation of the {@link ListenerList} that the listeners are collected at
+         * @param listeners  the listeners to call, in the order of calling
+         * @param previous   the previous {@link DispatchPlan} of the same event class, or {@code null} if this is the first
+         * @return a new {@link DispatchPlan}
+         */
+        @NotNull DispatchPlan<K, E, O> create(long generation, SubscribedListener<K, ? extends E, O> @NotNull [] listeners,
+                                              @Nullable DispatchPlan<K, E, O> previous);
+
+        /**
+         * Releases the states that this {@link Factory} keeps for the listeners that have been unsubscribed.
+         * <p>
+         * The given listeners are no longer subscribed to the {@link ListenerList}, but {@link DispatchPlan}s that have been created may still call them.
+         *
+         * @param removed the listeners that have been unsubscribed
+         */
+        default void release(@NotNull List<? extends SubscribedListener<K, ? extends E, O>> removed) {
+        }
+
+    }
+}
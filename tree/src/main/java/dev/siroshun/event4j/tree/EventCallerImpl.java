@@ -27,21 +27,185 @@ package dev.siroshun.event4j.tree;
 import dev.siroshun.event4j.api.caller.EventCaller;
 import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 record EventCallerImpl<K, E, O>(@NotNull ListenerList<K, E, O> listenerList,
-                                @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) implements EventCaller<E> {
+                                @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler,
+                                @Nullable EventClassStatisticsRegistry<K, E, O> statistics) implements EventCaller<E> {
+
+    EventCallerImpl {
+        if (statistics != null) {
+            exceptionHandler = statistics.trackRethrows(exceptionHandler);
+        }
+    }
+
+    EventCallerImpl(@NotNull ListenerList<K, E, O> listenerList, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        this(listenerList, exceptionHandler, null);
+    }
 
     @Override
     public void call(@NotNull E event) {
         Objects.requireNonNull(event);
 
-        var firstHolder = this.listenerList.holder(event.getClass().asSubclass(this.listenerList.eventClass()));
-        for (var holder = firstHolder; holder != null; holder = holder.parent()) {
-            if (!holder.postEvent(event, this.exceptionHandler)) {
-                break;
+        var listenerList = this.listenerList;
+        var state = listenerList.classState(event.getClass());
+        this.dispatch(state, listenerList.dispatchPlan(state), event);
+    }
+
+    /**
+     * Dispatches the event by the {@link DispatchPlan}, and counts it if the statistics are enabled.
+     *
+     * @param state the {@link EventClassState} of the event class
+     * @param plan  the {@link DispatchPlan} of the event class
+     * @param event the event instance
+     */
+    void dispatch(@NotNull EventClassState<K, E, O> state, @NotNull DispatchPlan<K, E, O> plan, @NotNull E event) {
+        var statistics = this.statistics;
+
+        if (statistics == null) {
+            if (plan.hasListeners()) {
+                plan.dispatch(event, this.exceptionHandler);
+            }
+            return;
+        }
+
+        var counters = statistics.counters(state);
+
+        if (!plan.hasListeners()) {
+            counters.record(0, true);
+            return;
+        }
+
+        int result = 0;
+        boolean returned = false;
+
+        try {
+            result = plan.dispatch(event, this.exceptionHandler);
+            returned = true;
+        } finally {
+            if (returned) {
+                counters.record(DispatchPlan.reachedListeners(result), DispatchPlan.isCompleted(result));
+            } else {
+                counters.record(statistics.rethrownListeners(plan), false);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasListeners(@NotNull Class<? extends E> eventClass) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        var listenerList = this.listenerList;
+        return listenerList.dispatchPlan(listenerList.classState(eventClass)).hasListeners();
+    }
+
+    @Override
+    public <T extends E> void call(@NotNull Class<T> eventClass, @NotNull Supplier<? extends T> supplier) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        Objects.requireNonNull(supplier, "supplier cannot be null.");
+
+        var listenerList = this.listenerList;
+        var state = listenerList.classState(eventClass);
+        var plan = listenerList.dispatchPlan(state);
+
+        if (!plan.hasListeners()) {
+            if (this.statistics != null) {
+                this.statistics.counters(state).record(0, true); // Counted as fired, even though the event is not created
+            }
+            return;
+        }
+
+        E event = Objects.requireNonNull(supplier.get(), "supplier cannot return null.");
+
+        if (event.getClass() == eventClass) {
+            this.dispatch(state, plan, event);
+        } else {
+            // Subclass instances may have their own listeners, so resolve the plan again.
+            var actualState = listenerList.classState(event.getClass());
+            this.dispatch(actualState, listenerList.dispatchPlan(actualState), event);
+        }
+    }
+
+    @Override
+    public <T extends E> @NotNull EventCaller<T> forClass(@NotNull Class<T> eventClass) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        return new BoundEventCallerImpl<>(this, eventClass, this.listenerList.classState(eventClass));
+    }
+
+    @Override
+    public void callAll(@NotNull Collection<? extends E> events) {
+        Objects.requireNonNull(events, "events cannot be null.");
+
+        if (events.isEmpty()) {
+            return;
+        }
+
+        var batch = new Batch();
+        for (var event : events) {
+            batch.call(event);
+        }
+    }
+
+    @Override
+    public void callAll(@NotNull E @NotNull [] events) {
+        Objects.requireNonNull(events, "events cannot be null.");
+
+        if (events.length == 0) {
+            return;
+        }
+
+        var batch = new Batch();
+        for (var event : events) {
+            batch.call(event);
+        }
+    }
+
+    /**
+     * Resolves the {@link DispatchPlan} once per event class, so all events of the same class in a batch see the same listeners.
+     */
+    private class Batch {
+
+        private Class<?> lastClass;
+        private Target<K, E, O> lastTarget;
+        private Map<Class<?>, Target<K, E, O>> targets;
+
+        private void call(@NotNull E event) {
+            Objects.requireNonNull(event);
+            var target = this.target(event.getClass());
+            EventCallerImpl.this.dispatch(target.state(), target.plan(), event);
+        }
+
+        private @NotNull Target<K, E, O> target(@NotNull Class<?> eventClass) {
+            if (eventClass == this.lastClass) {
+                return this.lastTarget;
             }
+
+            if (this.lastClass != null && this.targets == null) {
+                this.targets = new IdentityHashMap<>();
+                this.targets.put(this.lastClass, this.lastTarget);
+            }
+
+            var target = this.targets != null ? this.targets.get(eventClass) : null;
+            if (target == null) {
+                var listenerList = EventCallerImpl.this.listenerList;
+                var state = listenerList.classState(eventClass);
+                target = new Target<>(state, listenerList.dispatchPlan(state));
+                if (this.targets != null) {
+                    this.targets.put(eventClass, target);
+                }
+            }
+
+            this.lastClass = eventClass;
+            this.lastTarget = target;
+            return target;
         }
     }
+
+    private record Target<K, E, O>(@NotNull EventClassState<K, E, O> state, @NotNull DispatchPlan<K, E, O> plan) {
+    }
 }
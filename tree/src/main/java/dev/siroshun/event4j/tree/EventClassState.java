@@ -0,0 +1,55 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A per-class state that is cached in the {@link ClassValue} of {@link ListenerList}.
+ * <p>
+ * This class must not refer to the {@link ListenerList}; otherwise, the cached value keeps the {@link ClassValue} reachable from the class forever.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+final class EventClassState<K, E, O> {
+
+    private final Class<? extends E> eventClass;
+
+    volatile @Nullable DispatchPlan<K, E, O> dispatchPlan;
+    // Set once by the EventClassStatisticsRegistry when this class is fired for the first time.
+    volatile EventClassStatisticsRegistry.@Nullable Counters counters;
+
+    EventClassState(@NotNull Class<? extends E> eventClass) {
+        this.eventClass = eventClass;
+    }
+
+    @NotNull Class<? extends E> eventClass() {
+        return this.eventClass;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+package dev.siroshun.event4j.tree;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A snapshot of the dispatch counters of an event class.
+ * <p>
+ * The counters are read without stopping dispatching, so they may not be consistent with each other.
+ * The listener calls are counted by the number of listeners that each event has actually reached;
+ * listeners after the one that has stopped the dispatch and quarantined listeners are not counted.
+ *
+ * @param eventClass    the event class
+ * @param events        the number of events that have been fired
+ * @param listenerCalls the total number of listeners that the events have reached (the fan-out)
+ * @param breaks        the number of dispatches that have been stopped by {@link dev.siroshun.event4j.api.listener.ListenerExceptionHandler.Result#BREAK} or by a rethrown exception
+ * @param <E>           the event type
+ * @see TreeEventService.Factory#eventClassStatistics(boolean)
+ */
+public record EventClassStatistics<E>(@NotNull Class<? extends E> eventClass, long events, long listenerCalls, long breaks) {
+
+    /**
+     * Gets the average number of listeners that an event has been dispatched to.
+     *
+     * @return the average fan-out, or {@code 0} if no events have been fired
+     */
+    public double averageFanOut() {
+        return this.events != 0 ? (double) this.listenerCalls / this.events : 0;
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A registry of the dispatch counters of event classes.
+ * <p>
+ * The counters are held by the {@link EventClassState}s, so counting events does not look up this registry.
+ * They are updated by {@link LongAdder}s, so threads that fire events of the same class do not contend with each other.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+final class EventClassStatisticsRegistry<K, E, O> {
+
+    // Weakly holds the states that have counters, so that event classes are not pinned by this registry.
+    private final Set<EventClassState<K, E, O>> states = Collections.newSetFromMap(new WeakHashMap<>());
+    // The listener whose exception is being rethrown on the current thread; it is set only when dispatching is stopped by RETHROW.
+    private final ThreadLocal<SubscribedListener<K, ? extends E, O>> rethrown = new ThreadLocal<>();
+
+    @NotNull Counters counters(@NotNull EventClassState<K, E, O> state) {
+        var counters = state.counters;
+        return counters != null ? counters : this.createCounters(state);
+    }
+
+    /**
+     * Wraps the {@link ListenerExceptionHandler} to remember the listener whose exception is rethrown,
+     * so that the listeners reached by a dispatch that has been stopped by an exception can be counted.
+     *
+     * @param exceptionHandler the {@link ListenerExceptionHandler} to wrap
+     * @return the wrapped {@link ListenerExceptionHandler}
+     */
+    @NotNull ListenerExceptionHandler<K, E, O> trackRethrows(@NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        return (event, listener, exception) -> {
+            var result = exceptionHandler.handleException(event, listener, exception);
+            if (result == ListenerExceptionHandler.Result.RETHROW) {
+                this.rethrown.set(listener);
+            }
+            return result;
+        };
+    }
+
+    /**
+     * Gets the number of listeners that have been reached by the dispatch that has been stopped by an exception.
+     *
+     * @param plan the {@link DispatchPlan} that has thrown the exception
+     * @return the number of listeners up to the one whose exception has been rethrown, or {@code 0} if the exception has not been thrown by a listener
+     */
+    int rethrownListeners(@NotNull DispatchPlan<K, E, O> plan) {
+        var listener = this.rethrown.get();
+
+        if (listener == null) {
+            return 0;
+        }
+
+        this.rethrown.remove();
+        var listeners = plan.listeners();
+
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                return i + 1;
+            }
+        }
+
+        return 0;
+    }
+
+    private synchronized @NotNull Counters createCounters(@NotNull EventClassState<K, E, O> state) {
+        var counters = state.counters;
+
+        if (counters == null) {
+            counters = new Counters();
+            state.counters = counters;
+            this.states.add(state);
+        }
+
+        return counters;
+    }
+
+    /**
+     * Creates snapshots of the counters of all event classes that have been fired.
+     *
+     * @param reset {@code true} to reset the counters to zero after reading them
+     * @return the snapshots of the counters
+     */
+    synchronized @NotNull @Unmodifiable List<EventClassStatistics<E>> snapshot(boolean reset) {
+        var snapshots = new ArrayList<EventClassStatistics<E>>(this.states.size());
+
+        for (var state : this.states) {
+            var counters = state.counters;
+            if (counters != null) {
+                snapshots.add(counters.snapshot(state.eventClass(), reset));
+            }
+        }
+
+        return List.copyOf(snapshots);
+    }
+
+    static final class Counters {
+
+        private final LongAdder events = new LongAdder();
+        private final LongAdder listenerCalls = new LongAdder();
+        private final LongAdder breaks = new LongAdder();
+
+        void record(int listeners, boolean completed) {
+            this.events.increment();
+
+            if (listeners != 0) {
+                this.listenerCalls.add(listeners);
+            }
+
+            if (!completed) {
+                this.breaks.increment();
+            }
+        }
+
+        private <E> @NotNull EventClassStatistics<E> snapshot(@NotNull Class<? extends E> eventClass, boolean reset) {
+            return reset ?
+                new EventClassStatistics<>(eventClass, this.events.sumThenReset(), this.listenerCalls.sumThenReset(), this.breaks.sumThenReset()) :
+                new EventClassStatistics<>(eventClass, this.events.sum(), this.listenerCalls.sum(), this.breaks.sum());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The Java Flight Recorder events of event4j.
+ * <p>
+ * The events follow the settings of the recording, such as enablement and thresholds.
+ * The static instances are only used to check {@link Event#isEnabled()}, so that disabled events do not create instances.
+ */
+final class FlightRecorderEvents {
+
+    private static final DispatchEvent DISPATCH = new DispatchEvent();
+    private static final ListenerInvocationEvent LISTENER_INVOCATION = new ListenerInvocationEvent();
+    private static final ListenerChangeEvent LISTENER_CHANGE = new ListenerChangeEvent();
+    private static final DispatchPlanRebuildEvent DISPATCH_PLAN_REBUILD = new DispatchPlanRebuildEvent();
+
+    private FlightRecorderEvents() {
+        throw new UnsupportedOperationException();
+    }
+
+    static boolean isDispatchEnabled() {
+        return DISPATCH.isEnabled() || LISTENER_INVOCATION.isEnabled();
+    }
+
+    static <K, E, O> int dispatch(@NotNull DispatchPlan<K, E, O> plan, @NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        var dispatch = new DispatchEvent();
+        dispatch.begin();
+
+        try {
+            return LISTENER_INVOCATION.isEnabled() ?
+                plan.postRecordingListeners(event, exceptionHandler) :
+                plan.post(event, exceptionHandler);
+        } finally {
+            dispatch.end();
+            if (dispatch.shouldCommit()) {
+                dispatch.eventClass = event.getClass();
+                dispatch.listenerCount = plan.listeners().length;
+                dispatch.commit();
+            }
+        }
+    }
+
+    static @NotNull ListenerInvocationEvent beginListenerInvocation() {
+        var invocation = new ListenerInvocationEvent();
+        invocation.begin();
+        return invocation;
+    }
+
+    static void endListenerInvocation(@NotNull ListenerInvocationEvent invocation, @NotNull SubscribedListener<?, ?, ?> listener, boolean thrown) {
+        invocation.end();
+        if (invocation.shouldCommit()) {
+            invocation.eventClass = listener.eventClass();
+            invocation.key = String.valueOf(listener.key());
+            invocation.order = String.valueOf(listener.order());
+            invocation.listenerClass = listener.consumer().getClass();
+            invocation.thrown = thrown;
+            invocation.commit();
+        }
+    }
+
+    static @Nullable ListenerChangeEvent beginListenerChange() {
+        if (!LISTENER_CHANGE.isEnabled()) {
+            return null;
+        }
+        var change = new ListenerChangeEvent();
+        change.begin();
+        return change;
+    }
+
+    static void endListenerChange(@Nullable ListenerChangeEvent change, @NotNull Class<?> eventClass, int previousSize, int size) {
+        if (change == null) {
+            return;
+        }
+        change.end();
+        if (change.shouldCommit()) {
+            change.eventClass = eventClass;
+            change.previousSize = previousSize;
+            change.size = size;
+            change.commit();
+        }
+    }
+
+    static @Nullable DispatchPlanRebuildEvent beginDispatchPlanRebuild() {
+        if (!DISPATCH_PLAN_REBUILD.isEnabled()) {
+            return null;
+        }
+        var rebuild = new DispatchPlanRebuildEvent();
+        rebuild.begin();
+        return rebuild;
+    }
+
+    static void endDispatchPlanRebuild(@Nullable DispatchPlanRebuildEvent rebuild, @NotNull Class<?> eventClass, int listenerCount) {
+        if (rebuild == null) {
+            return;
+        }
+        rebuild.end();
+        if (rebuild.shouldCommit()) {
+            rebuild.eventClass = eventClass;
+            rebuild.listenerCount = listenerCount;
+            rebuild.commit();
+        }
+    }
+
+    @Name("dev.siroshun.event4j.Dispatch")
+    @Label("Event Dispatch")
+    @Description("An event is dispatched to its listeners")
+    @Category("Event4J")
+    @Threshold("1 ms")
+    static final class DispatchEvent extends Event {
+
+        @Label("Event Class")
+        Class<?> eventClass;
+
+        @Label("Listener Count")
+        int listenerCount;
+
+    }
+
+    @Name("dev.siroshun.event4j.ListenerInvocation")
+    @Label("Listener Invocation")
+    @Description("A listener is called")
+    @Category("Event4J")
+    @Threshold("1 ms")
+    static final class ListenerInvocationEvent extends Event {
+
+        @Label("Event Class")
+        @Description("The event class that the listener is subscribed to")
+        Class<?> eventClass;
+
+        @Label("Key")
+        String key;
+
+        @Label("Order")
+        String order;
+
+        @Label("Listener Class")
+        Class<?> listenerClass;
+
+        @Label("Thrown")
+        @Description("Whether the listener threw an exception")
+        boolean thrown;
+
+    }
+
+    @Name("dev.siroshun.event4j.ListenerChange")
+    @Label("Listener Change")
+    @Description("Listeners of an event class are subscribed or unsubscribed")
+    @Category("Event4J")
+    @StackTrace
+    static final class ListenerChangeEvent extends Event {
+
+        @Label("Event Class")
+        Class<?> eventClass;
+
+        @Label("Previous Size")
+        int previousSize;
+
+        @Label("Size")
+        int size;
+
+    }
+
+    @Name("dev.siroshun.event4j.DispatchPlanRebuild")
+    @Label("Dispatch Plan Rebuild")
+    @Description("The listeners of an event class and its parents are collected after modifications")
+    @Category("Event4J")
+    static final class DispatchPlanRebuildEvent extends Event {
+
+        @Label("Event Class")
+        Class<?> eventClass;
+
+        @Label("Listener Count")
+        int listenerCount;
+
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * A {@link DispatchPlan} that calls {@link DispatchInterceptor}s around the event and each listener.
+ * <p>
+ * The interceptors are nested by recursion, so their tokens are kept on the stack instead of being allocated per event.
+ * Subclasses can change how listeners are called by overriding {@link #postListeners(Object, ListenerExceptionHandler)} and {@link #call(int, Object, SubscribedListener)}.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+class InterceptedDispatchPlan<K, E, O> extends DispatchPlan<K, E, O> {
+
+    static <K, E, O> DispatchPlan.@NotNull Factory<K, E, O> factory(@NotNull DispatchInterceptor<K, E, O> @NotNull [] interceptors) {
+        return (generation, listeners, previous) -> new InterceptedDispatchPlan<>(generation, listeners, interceptors);
+    }
+
+    private final DispatchInterceptor<K, E, O>[] interceptors;
+
+    InterceptedDispatchPlan(long generation, SubscribedListener<K, ? extends E, O> @NotNull [] listeners,
+                            @NotNull DispatchInterceptor<K, E, O> @NotNull [] interceptors) {
+        super(generation, listeners);
+        this.interceptors = interceptors;
+    }
+
+    @Override
+    final int post(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        return this.interceptors.length == 0 ? this.postListeners(event, exceptionHandler) : this.post(0, event, exceptionHandler);
+    }
+
+    private int post(int depth, @NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        if (depth == this.interceptors.length) {
+            return this.postListeners(event, exceptionHandler);
+        }
+
+        var interceptor = this.interceptors[depth];
+        long token = interceptor.beforeEvent(event);
+        boolean completed = false;
+
+        try {
+            int result = this.post(depth + 1, event, exceptionHandler);
+            completed = isCompleted(result);
+            return result;
+        } finally {
+            interceptor.afterEvent(event, token, completed);
+        }
+    }
+
+    @Override
+    int postRecordingListeners(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        return this.post(event, exceptionHandler); // Interceptors should not be skipped while recording.
+    }
+
+    /**
+     * Calls the listeners inside the {@link DispatchInterceptor}s of the event.
+     *
+     * @param event            the event instance
+     * @param exceptionHandler the {@link ListenerExceptionHandler}
+     * @return the result of {@link #post(Object, ListenerExceptionHandler)}
+     */
+    @SuppressWarnings("UnnecessaryContinue")
+    int postListeners(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        var listeners = this.listeners();
+
+        for (int i = 0; i < listeners.length; i++) {
+            var listener = listeners[i];
+            var exception = this.invoke(i, event, listener);
+
+            if (exception != null) {
+                switch (exceptionHandler.handleException(event, listener, exception)) {
+                    case BREAK -> {
+                        return stopped(i + 1);
+                    }
+                    case CONTINUE -> {
+                        continue;
+                    }
+                    case RETHROW -> {
+                        rethrow(exception);
+                        throw new Error(exception);
+                    }
+                }
+            }
+        }
+
+        return listeners.length;
+    }
+
+    /**
+     * Calls the listener inside the {@link DispatchInterceptor}s.
+     *
+     * @param index    the index of the listener in {@link #listeners()}
+     * @param event    the event instance
+     * @param listener the {@link SubscribedListener} to call
+     * @return the exception thrown by the listener, or {@code null} if the listener has returned normally
+     */
+    final @Nullable Throwable invoke(int index, @NotNull E event, @NotNull SubscribedListener<K, ? extends E, O> listener) {
+        return this.interceptors.length == 0 ? this.call(index, event, listener) : this.invoke(0, index, event, listener);
+    }
+
+    private @Nullable Throwable invoke(int depth, int index, @NotNull E event, @NotNull SubscribedListener<K, ? extends E, O> listener) {
+        if (depth == this.interceptors.length) {
+            return this.call(index, event, listener);
+        }
+
+        var interceptor = this.interceptors[depth];
+        long token = interceptor.beforeListener(event, listener);
+        Throwable exception = null;
+
+        try {
+            exception = this.invoke(depth + 1, index, event, listener);
+            return exception;
+        } finally {
+            interceptor.afterListener(event, listener, token, exception);
+        }
+    }
+
+    /**
+     * Calls the listener.
+     *
+     * @param index    the index of the listener in {@link #listeners()}
+     * @param event    the event instance
+     * @param listener the {@link SubscribedListener} to call
+     * @return the exception thrown by the listener, or {@code null} if the listener has returned normally
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable Throwable call(int index, @NotNull E event, @NotNull SubscribedListener<K, ? extends E, O> listener) {
+        try {
+            ((Consumer<Object>) listener.consumer()).accept(event);
+            return null;
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Throwable> void rethrow(@NotNull Throwable exception) throws T {
+        throw (T) exception;
+    }
+}
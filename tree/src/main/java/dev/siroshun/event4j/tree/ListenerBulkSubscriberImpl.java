@@ -31,20 +31,16 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.stream.Stream;
 
 class ListenerBulkSubscriberImpl<K, E, O> implements ListenerSubscriber.BulkSubscriber<K, E, O> {
 
     private final ListenerList<K, E, O> listenerList;
     private final O defaultOrder;
 
-    private final Map<Class<? extends E>, TypedListeners<K, ? extends E, O>> listenersByClass = new HashMap<>();
+    private final ListenerChanges<K, E, O> changes = new ListenerChanges<>();
 
     ListenerBulkSubscriberImpl(@NotNull ListenerList<K, E, O> listenerList, @UnknownNullability O defaultOrder) {
         this.listenerList = listenerList;
@@ -59,8 +55,7 @@ class ListenerBulkSubscriberImpl<K, E, O> implements ListenerSubscriber.BulkSubs
         var factory = new ListenerFactoryImpl<K, T, O>(eventClass, this.defaultOrder);
         builder.accept(factory);
 
-        var listener = factory.build();
-        this.listeners(eventClass).add(listener);
+        this.changes.add(factory.build());
 
         return this;
     }
@@ -86,21 +81,12 @@ class ListenerBulkSubscriberImpl<K, E, O> implements ListenerSubscriber.BulkSubs
     }
 
     private <T extends E> void addListener(@NotNull SubscribedListener<K, T, O> listener) {
-        this.listeners(listener.eventClass()).add(listener);
-    }
-
-    @SuppressWarnings("unchecked")
-    private <T extends E> @NotNull TypedListeners<K, T, O> listeners(@NotNull Class<T> eventClass) {
-        return (TypedListeners<K, T, O>) this.listenersByClass.computeIfAbsent(eventClass, TypedListeners::new);
+        this.changes.add(listener);
     }
 
     @Override
     public @NotNull List<SubscribedListener<K, ? extends E, O>> subscribe() {
-        return this.listenersByClass.values().stream().flatMap(this::subscribeAll).toList();
-    }
-
-    private <T extends E> @NotNull Stream<SubscribedListener<K, ? extends E, O>> subscribeAll(@NotNull TypedListeners<K, T, O> listeners) {
-        this.listenerList.holder(listeners.eventClass()).modifyListeners(list -> list.addAll(listeners.list()));
-        return listeners.list().stream().map(Function.identity());
+        this.listenerList.applyChanges(this.changes);
+        return this.changes.addedListeners();
     }
 }
@@ -0,0 +1,120 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerFactory;
+import dev.siroshun.event4j.api.listener.ListenerSubscriber;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnknownNullability;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+class ListenerChangeSetImpl<K, E, O> implements ListenerSubscriber.ChangeSet<K, E, O> {
+
+    private final ListenerList<K, E, O> listenerList;
+    private final O defaultOrder;
+
+    private final ListenerChanges<K, E, O> changes = new ListenerChanges<>();
+    private boolean applied;
+
+    ListenerChangeSetImpl(@NotNull ListenerList<K, E, O> listenerList, @UnknownNullability O defaultOrder) {
+        this.listenerList = listenerList;
+        this.defaultOrder = defaultOrder;
+    }
+
+    @Override
+    public <T extends E> ListenerSubscriber.@NotNull ChangeSet<K, E, O> add(@NotNull Class<T> eventClass, @NotNull Consumer<? super ListenerFactory<K, T, O>> builder) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        Objects.requireNonNull(builder, "builder cannot be null.");
+
+        var factory = new ListenerFactoryImpl<K, T, O>(eventClass, this.defaultOrder);
+        builder.accept(factory);
+        this.changes.add(factory.build());
+
+        return this;
+    }
+
+    @Override
+    public <T extends E> ListenerSubscriber.@NotNull ChangeSet<K, E, O> add(@NotNull Class<T> eventClass, @NotNull K key, @NotNull Consumer<? super T> consumer) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        Objects.requireNonNull(key, "key cannot be null.");
+        Objects.requireNonNull(consumer, "consumer cannot be null.");
+
+        this.changes.add(new SubscribedListenerImpl<>(eventClass, key, consumer, this.defaultOrder));
+        return this;
+    }
+
+    @Override
+    public <T extends E> ListenerSubscriber.@NotNull ChangeSet<K, E, O> add(@NotNull Class<T> eventClass, @NotNull K key, @NotNull Consumer<? super T> consumer, @Nullable O order) {
+        Objects.requireNonNull(eventClass, "eventClass cannot be null.");
+        Objects.requireNonNull(key, "key cannot be null.");
+        Objects.requireNonNull(consumer, "consumer cannot be null.");
+
+        this.changes.add(new SubscribedListenerImpl<>(eventClass, key, consumer, order != null ? order : this.defaultOrder));
+        return this;
+    }
+
+    @Override
+    public ListenerSubscriber.@NotNull ChangeSet<K, E, O> remove(@NotNull SubscribedListener<K, ? extends E, O> subscribedListener) {
+        Objects.requireNonNull(subscribedListener, "subscribedListener cannot be null.");
+
+        if (subscribedListener instanceof SubscribedListenerImpl) {
+            this.changes.remove(subscribedListener);
+        }
+
+        return this;
+    }
+
+    @Override
+    public ListenerSubscriber.@NotNull ChangeSet<K, E, O> removeAll(@NotNull Collection<SubscribedListener<K, ? extends E, O>> subscribedListeners) {
+        Objects.requireNonNull(subscribedListeners, "subscribedListeners cannot be null.");
+        subscribedListeners.forEach(this::remove);
+        return this;
+    }
+
+    @Override
+    public ListenerSubscriber.@NotNull ChangeSet<K, E, O> removeByKey(@NotNull K key) {
+        Objects.requireNonNull(key, "key cannot be null.");
+        this.changes.removeByKey(key);
+        return this;
+    }
+
+    @Override
+    public @NotNull List<SubscribedListener<K, ? extends E, O>> apply() {
+        if (this.applied) {
+            throw new IllegalStateException("The changes have already been applied.");
+        }
+
+        this.applied = true;
+        this.listenerList.applyChanges(this.changes);
+        return this.changes.addedListeners();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A set of listener additions and removals that are applied to {@link ListenerList} at once.
+ * <p>
+ * Removals are applied before additions, so that listeners can be replaced in the same changes.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+final class ListenerChanges<K, E, O> {
+
+    /**
+     * The removal count that removes all equal listeners.
+     */
+    static final int ALL_EQUAL = -1;
+
+    private final Map<Class<? extends E>, TypedListeners<K, ? extends E, O>> additions = new HashMap<>();
+    // The number of requested removals of each listener; each removal removes one equal listener, as ListenerSubscriber#unsubscribe does,
+    // and ALL_EQUAL removes all of them, as ListenerSubscriber#unsubscribeAll does.
+    private final Map<Class<? extends E>, Map<SubscribedListener<K, ? extends E, O>, Integer>> removals = new HashMap<>();
+    private final Set<K> removalKeys = new HashSet<>();
+
+    <T extends E> void add(@NotNull SubscribedListener<K, T, O> listener) {
+        this.additions(listener.eventClass()).add(listener);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends E> @NotNull TypedListeners<K, T, O> additions(@NotNull Class<T> eventClass) {
+        return (TypedListeners<K, T, O>) this.additions.computeIfAbsent(eventClass, TypedListeners::new);
+    }
+
+    void remove(@NotNull SubscribedListener<K, ? extends E, O> listener) {
+        this.addRemoval(listener, 1);
+    }
+
+    void removeAllEqual(@NotNull SubscribedListener<K, ? extends E, O> listener) {
+        this.addRemoval(listener, ALL_EQUAL);
+    }
+
+    private void addRemoval(@NotNull SubscribedListener<K, ? extends E, O> listener, int count) {
+        this.removals.computeIfAbsent(listener.eventClass(), ignored -> new HashMap<>())
+            .merge(listener, count, (previous, added) -> previous == ALL_EQUAL || added == ALL_EQUAL ? ALL_EQUAL : previous + added);
+    }
+
+    void removeByKey(@NotNull K key) {
+        this.removalKeys.add(key);
+    }
+
+    boolean isEmpty() {
+        return this.additions.isEmpty() && this.removals.isEmpty() && this.removalKeys.isEmpty();
+    }
+
+    @NotNull Map<Class<? extends E>, TypedListeners<K, ? extends E, O>> additions() {
+        return this.additions;
+    }
+
+    @NotNull Map<Class<? extends E>, Map<SubscribedListener<K, ? extends E, O>, Integer>> removals() {
+        return this.removals;
+    }
+
+    @NotNull Set<K> removalKeys() {
+        return this.removalKeys;
+    }
+
+    @NotNull @Unmodifiable List<SubscribedListener<K, ? extends E, O>> addedListeners() {
+        return this.additions.values().stream().flatMap(typed -> typed.list().stream()).<SubscribedListener<K, ? extends E, O>>map(Function.identity()).toList();
+    }
+}
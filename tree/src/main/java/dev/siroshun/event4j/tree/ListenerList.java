@@ -30,27 +30,95 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.StampedLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
 
 class ListenerList<K, E, O> {
 
+    private static final VarHandle GENERATION;
+    private static final VarHandle POPULATED_GENERATION;
+    private static final VarHandle SNAPSHOT;
+    private static final VarHandle TRANSACTION;
+    // The number of spins to wait for a transaction before blocking on the transaction lock.
+    private static final int TRANSACTION_SPINS = 64;
+
+    static {
+        try {
+            var lookup = MethodHandles.lookup();
+            GENERATION = lookup.findVarHandle(ListenerList.class, "generation", long.class);
+            POPULATED_GENERATION = lookup.findVarHandle(ListenerList.class, "populatedGeneration", long.class);
+            TRANSACTION = lookup.findVarHandle(ListenerList.class, "transaction", long.class);
+            SNAPSHOT = lookup.findVarHandle(ListenerList.Holder.class, "snapshot", Snapshot.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final Class<E> eventClass;
     private final Comparator<O> orderComparator;
+    private final @Nullable ToIntFunction<? super O> orderKey;
+    private final DispatchPlan.Factory<K, E, O> planFactory;
 
     private final Map<Class<? extends E>, Holder<E>> holderMap = new ConcurrentHashMap<>();
+    // The number of listeners per event class for each key; the inner maps are only accessed in the mapping functions of their keys.
+    private final Map<K, Map<Class<? extends E>, Integer>> keyIndex = new ConcurrentHashMap<>();
+    private final ClassValue<EventClassState<K, E, O>> classStates = new ClassValue<>() {
+        @Override
+        protected @NotNull EventClassState<K, E, O> computeValue(@NotNull Class<?> type) {
+            return new EventClassState<>(type.asSubclass(ListenerList.this.eventClass));
+        }
+    };
+    // Weakly holds the states whose DispatchPlan has listeners, so that removed listeners can be released without pinning event classes.
+    private final Set<EventClassState<K, E, O>> statesWithListeners = Collections.newSetFromMap(new WeakHashMap<>());
+
+    // Incremented after any holder publishes its listeners; DispatchPlans built for an older generation are stale.
+    private volatile long generation;
+    // Incremented after a holder that had no listeners publishes its first listeners; empty DispatchPlans are stamped with this instead.
+    private volatile long populatedGeneration;
+    // Odd while ListenerChanges are being applied; DispatchPlans are not built from holders during that.
+    private volatile long transaction;
+    private final ReentrantLock transactionLock = new ReentrantLock();
 
     ListenerList(@NotNull Class<E> eventClass, @NotNull Comparator<O> orderComparator) {
+        this(eventClass, orderComparator, DispatchPlan::create);
+    }
+
+    ListenerList(@NotNull Class<E> eventClass, @NotNull Comparator<O> orderComparator, @NotNull DispatchPlan.Factory<K, E, O> planFactory) {
+        this(eventClass, orderComparator, null, planFactory);
+    }
+
+    /**
+     * Creates a new {@link ListenerList}.
+     *
+     * @param eventClass      the root event class
+     * @param orderComparator the {@link Comparator} to sort listeners by their orders
+     * @param orderKey        the function that maps orders to int values in the same order as {@code orderComparator}, or {@code null} to compare orders by {@code orderComparator}
+     * @param planFactory     the {@link DispatchPlan.Factory} to create {@link DispatchPlan}s
+     */
+    ListenerList(@NotNull Class<E> eventClass, @NotNull Comparator<O> orderComparator, @Nullable ToIntFunction<? super O> orderKey, @NotNull DispatchPlan.Factory<K, E, O> planFactory) {
         this.eventClass = eventClass;
         this.orderComparator = orderComparator;
+        this.orderKey = orderKey;
+        this.planFactory = planFactory;
     }
 
     @NotNull Class<E> eventClass() {
@@ -63,20 +131,376 @@ class ListenerList<K, E, O> {
         return (Holder<T>) (existing != null ? existing : this.createAndPutHolder(eventClass));
     }
 
+    <T extends E> void addListener(@NotNull SubscribedListener<K, T, O> listener) {
+        this.modifyHolder(listener.eventClass(), holder -> holder.add(listener));
+        this.updateKeyIndex(listener.key(), listener.eventClass(), 1);
+    }
+
+    /**
+     * Applies the {@link ListenerChanges} at once.
+     * <p>
+     * Each affected {@link Holder} is updated exactly once, and {@link DispatchPlan}s are not built until all of them are updated,
+     * so that events are dispatched to either none or all of the changes.
+     *
+     * @param changes the {@link ListenerChanges} to apply
+     */
+    void applyChanges(@NotNull ListenerChanges<K, E, O> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        var removalKeys = changes.removalKeys();
+        var modification = new Modification();
+        var removed = new ArrayList<SubscribedListener<K, ? extends E, O>>();
+
+        this.transactionLock.lock();
+
+        try {
+            var classes = new HashSet<Class<? extends E>>(changes.additions().keySet());
+            classes.addAll(changes.removals().keySet());
+            for (var key : removalKeys) {
+                classes.addAll(this.indexedClasses(key));
+            }
+
+            TRANSACTION.getAndAdd(this, 1L);
+
+            try {
+                for (var eventClass : classes) {
+                    this.applyChanges(eventClass, changes.additions().get(eventClass), changes.removals().getOrDefault(eventClass, Map.of()), removalKeys, modification, removed);
+                }
+            } finally {
+                if (modification.modified) {
+                    this.notifyModification(modification, false);
+                }
+                TRANSACTION.getAndAdd(this, 1L);
+            }
+        } finally {
+            this.transactionLock.unlock();
+        }
+
+        // Released after the transaction, so that threads waiting for it to build DispatchPlans are not kept waiting.
+        if (!removed.isEmpty()) {
+            this.releaseUnsubscribed(removed);
+        }
+
+        if (modification.removed) {
+            this.releaseDispatchPlans(modification);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends E> void applyChanges(@NotNull Class<T> eventClass, @Nullable TypedListeners<K, ? extends E, O> additions,
+                                            @NotNull Map<?, Integer> removals, @NotNull Set<K> removalKeys, @NotNull Modification modification,
+                                            @NotNull List<SubscribedListener<K, ? extends E, O>> allRemoved) {
+        var added = additions != null ? ((TypedListeners<K, T, O>) additions).list() : List.<SubscribedListener<K, T, O>>of();
+        var removed = new ArrayList<SubscribedListener<K, T, O>>();
+        // Counts down the requested removals in each attempt, so that each removal removes only one equal listener.
+        Supplier<Predicate<SubscribedListener<K, T, O>>> removal = () -> {
+            var remaining = removals.isEmpty() ? null : new HashMap<Object, Integer>(removals);
+            return listener -> removalKeys.contains(listener.key()) || remaining != null && consume(remaining, listener);
+        };
+
+        if (added.isEmpty()) {
+            var holder = this.holderIfPresent(eventClass);
+            if (holder != null) {
+                holder.replace(removal, added, removed, modification);
+            }
+        } else {
+            this.modifyHolder(eventClass, holder -> holder.replace(removal, added, removed, modification));
+        }
+
+        this.unindex(removed);
+        allRemoved.addAll(removed);
+
+        var countByKey = new HashMap<K, Integer>();
+        for (var listener : added) {
+            countByKey.merge(listener.key(), 1, Integer::sum);
+        }
+        countByKey.forEach((key, count) -> this.updateKeyIndex(key, eventClass, count));
+    }
+
+    private static boolean consume(@NotNull Map<Object, Integer> remaining, @NotNull Object listener) {
+        var count = remaining.get(listener);
+
+        if (count == null) {
+            return false;
+        }
+
+        if (count == ListenerChanges.ALL_EQUAL) {
+            return true;
+        } else if (count == 1) {
+            remaining.remove(listener);
+        } else {
+            remaining.put(listener, count - 1);
+        }
+
+        return true;
+    }
+
+    /**
+     * Applies the operation to the {@link Holder} of the specified class, creating it if needed.
+     * <p>
+     * Empty holders are removed from this {@link ListenerList}, so this retries with a new {@link Holder} if the current one has been removed concurrently.
+     *
+     * @param eventClass the class of the event
+     * @param operation  the operation that returns {@code false} if the {@link Holder} has already been removed
+     * @param <T>        the type of the event
+     */
+    private <T extends E> void modifyHolder(@NotNull Class<T> eventClass, @NotNull Predicate<Holder<T>> operation) {
+        while (true) {
+            var holder = this.holder(eventClass);
+
+            if (operation.test(holder)) {
+                return;
+            }
+
+            // Helps the thread that has retired the holder, instead of waiting for it to remove the holder.
+            this.holderMap.remove(eventClass, holder);
+        }
+    }
+
+    void removeListener(@NotNull SubscribedListener<K, ? extends E, O> listener) {
+        var holder = this.holderIfPresent(listener.eventClass());
+        if (holder != null) {
+            this.release(holder.remove(listener));
+        }
+    }
+
+    void removeListenersIf(@NotNull Predicate<? super SubscribedListener<K, ? extends E, O>> predicate) {
+        for (var holder : this.holderMap.values()) {
+            this.release(holder.removeIf(predicate));
+        }
+    }
+
+    /**
+     * Removes the listeners of the specified key.
+     * <p>
+     * Only the holders that have listeners of the key are modified, which are looked up from the key index.
+     *
+     * @param key the key of listeners to remove
+     */
+    void removeListenersByKey(@NotNull K key) {
+        for (var eventClass : this.indexedClasses(key)) {
+            var holder = this.holderIfPresent(eventClass);
+            if (holder != null) {
+                this.release(holder.removeIf(listener -> listener.key().equals(key)));
+            }
+        }
+    }
+
+    /**
+     * Gets the event classes that have listeners of the specified key.
+     *
+     * @param key the key of listeners
+     * @return the event classes that have listeners of the key
+     */
+    @NotNull List<Class<? extends E>> indexedClasses(@NotNull K key) {
+        var classes = new ArrayList<Class<? extends E>>();
+        this.keyIndex.computeIfPresent(key, (k, counts) -> {
+            classes.addAll(counts.keySet());
+            return counts;
+        });
+        return classes;
+    }
+
+    /**
+     * Removes the removed listeners from the key index, and lets the {@link DispatchPlan.Factory} release their states.
+     * <p>
+     * The same instance may be subscribed more than once, so the states are released only for the instances that are no longer subscribed.
+     *
+     * @param removed the removed listeners
+     */
+    private void release(@NotNull List<? extends SubscribedListener<K, ? extends E, O>> removed) {
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        this.unindex(removed);
+        this.releaseUnsubscribed(removed);
+    }
+
+    private void unindex(@NotNull List<? extends SubscribedListener<K, ? extends E, O>> removed) {
+        for (var listener : removed) {
+            this.updateKeyIndex(listener.key(), listener.eventClass(), -1);
+        }
+    }
+
+    private void releaseUnsubscribed(@NotNull List<? extends SubscribedListener<K, ? extends E, O>> listeners) {
+        var released = new ArrayList<SubscribedListener<K, ? extends E, O>>();
+
+        for (var listener : listeners) {
+            var holder = this.holderIfPresent(listener.eventClass());
+            if (holder == null || !holder.contains(listener)) {
+                released.add(listener);
+            }
+        }
+
+        if (!released.isEmpty()) {
+            this.planFactory.release(released);
+        }
+    }
+
+    private void updateKeyIndex(@NotNull K key, @NotNull Class<? extends E> eventClass, int delta) {
+        // The count may become negative temporarily when a listener is removed before its addition is counted.
+        this.keyIndex.compute(key, (k, counts) -> {
+            var result = counts != null ? counts : new HashMap<Class<? extends E>, Integer>();
+            result.merge(eventClass, delta, (count, d) -> count + d != 0 ? count + d : null);
+            return result.isEmpty() ? null : result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends E> @Nullable Holder<T> holderIfPresent(@NotNull Class<T> eventClass) {
+        return (Holder<T>) this.holderMap.get(eventClass);
+    }
+
     private @NotNull Holder<E> createAndPutHolder(@NotNull Class<? extends E> eventClass) {
-        var created = this.createHolder(eventClass);
+        var created = new Holder<E>(eventClass);
         return Objects.requireNonNullElse(this.holderMap.putIfAbsent(eventClass, created), created);
     }
 
+    /**
+     * Gets the {@link EventClassState} of the specified class.
+     * <p>
+     * The state is cached per class, so that the lookup does not need hashing or the assignability check after the first time.
+     *
+     * @param eventClass the class of the event
+     * @return the {@link EventClassState} of the specified class
+     * @throws ClassCastException if the specified class is not a subclass of the root event class
+     */
+    @NotNull EventClassState<K, E, O> classState(@NotNull Class<?> eventClass) {
+        return this.classStates.get(eventClass);
+    }
+
+    @NotNull DispatchPlan<K, E, O> dispatchPlan(@NotNull Class<? extends E> eventClass) {
+        return this.dispatchPlan(this.classState(eventClass));
+    }
+
+    /**
+     * Gets the {@link DispatchPlan} that contains the listeners of the class and its parents, in the order of C &gt; B &gt; A.
+     * <p>
+     * The plan is rebuilt lazily when any holder of this {@link ListenerList} has been modified since it was built.
+     * An empty plan is kept until a holder gets its first listener, so that classes without listeners are not rebuilt by unrelated modifications.
+     *
+     * @param state the {@link EventClassState} of the event class
+     * @return the {@link DispatchPlan} of the class
+     */
+    @NotNull DispatchPlan<K, E, O> dispatchPlan(@NotNull EventClassState<K, E, O> state) {
+        var plan = state.dispatchPlan;
+
+        if (plan != null && plan.generation() == (plan.hasListeners() ? this.generation : this.populatedGeneration)) {
+            return plan;
+        }
+
+        return this.rebuildDispatchPlan(state);
+    }
+
+    /**
+     * Waits until no {@link ListenerChanges} are being applied.
+     * <p>
+     * This spins for a short time, and then blocks on the transaction lock, which is held until the transaction ends.
+     *
+     * @return the even value of the transaction counter
+     */
+    private long awaitTransaction() {
+        long transaction;
+        int spins = 0;
+
+        while (((transaction = this.transaction) & 1L) != 0) {
+            if (spins++ < TRANSACTION_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                this.transactionLock.lock();
+                this.transactionLock.unlock();
+            }
+        }
+
+        return transaction;
+    }
+
     @SuppressWarnings("unchecked")
-    private @NotNull Holder<E> createHolder(@NotNull Class<? extends E> eventClass) {
-        var superClass = eventClass.getSuperclass();
-        return new Holder<>(
-            superClass != null && this.eventClass.isAssignableFrom(superClass) ?
-                this.holder(superClass.asSubclass(this.eventClass)) :
-                null,
-            this.orderComparator
-        );
+    private @NotNull DispatchPlan<K, E, O> rebuildDispatchPlan(@NotNull EventClassState<K, E, O> state) {
+        var rebuild = FlightRecorderEvents.beginDispatchPlanRebuild();
+        long transaction;
+        long generation;
+        long populatedGeneration;
+        var listeners = new ArrayList<SubscribedListener<K, ? extends E, O>>();
+
+        // Reads the holders again if ListenerChanges have been applied while reading, so that the plan does not contain a part of them.
+        do {
+            transaction = this.awaitTransaction();
+
+            // The generations must be read before the listener arrays; a change published after that makes this plan stale.
+            generation = this.generation;
+            populatedGeneration = this.populatedGeneration;
+            listeners.clear();
+
+            for (Class<?> clazz = state.eventClass(); clazz != null && this.eventClass.isAssignableFrom(clazz); clazz = clazz.getSuperclass()) {
+                var holder = this.holderMap.get(clazz);
+                var array = holder != null ? holder.sortedListenersArray() : null;
+                if (array != null) {
+                    Collections.addAll(listeners, (SubscribedListener<K, ? extends E, O>[]) array);
+                }
+            }
+        } while (this.transaction != transaction);
+
+        var plan = this.planFactory.create(listeners.isEmpty() ? populatedGeneration : generation, listeners.toArray(SubscribedListener[]::new), state.dispatchPlan);
+        state.dispatchPlan = plan;
+        FlightRecorderEvents.endDispatchPlanRebuild(rebuild, state.eventClass(), listeners.size());
+
+        if (plan.hasListeners()) {
+            synchronized (this.statesWithListeners) {
+                this.statesWithListeners.add(state);
+            }
+
+            // If listeners were removed while building, the removal may have missed this plan; do not keep their references.
+            if (this.generation != generation) {
+                if (state.dispatchPlan == plan) {
+                    state.dispatchPlan = null;
+                }
+                // The factory may also have resolved the states of the removed listeners after they were released.
+                this.releaseUnsubscribed(listeners);
+            }
+        }
+
+        return plan;
+    }
+
+    private void notifyModification(@NotNull Modification modification) {
+        this.notifyModification(modification, true);
+    }
+
+    private void notifyModification(@NotNull Modification modification, boolean releaseDispatchPlans) {
+        if (modification.populated) {
+            POPULATED_GENERATION.getAndAdd(this, 1L);
+        }
+
+        GENERATION.getAndAdd(this, 1L);
+
+        if (releaseDispatchPlans && modification.removed) {
+            this.releaseDispatchPlans(modification);
+        }
+    }
+
+    /**
+     * Drops the cached {@link DispatchPlan}s that may have the removed listeners, so that they are not kept reachable by classes that are no longer called.
+     * <p>
+     * Only the plans of the classes whose listeners have been removed and their subclasses are dropped.
+     * The other plans are kept, so that they can be passed to {@link DispatchPlan.Factory} as the previous plan and their parts can be reused.
+     *
+     * @param modification the {@link Modification} that has removed listeners
+     */
+    private void releaseDispatchPlans(@NotNull Modification modification) {
+        synchronized (this.statesWithListeners) {
+            var iterator = this.statesWithListeners.iterator();
+            while (iterator.hasNext()) {
+                var state = iterator.next();
+                if (modification.isRemovedFrom(state.eventClass())) {
+                    state.dispatchPlan = null;
+                    iterator.remove();
+                }
+            }
+        }
     }
 
     @NotNull Collection<Holder<E>> holders() {
@@ -85,87 +509,443 @@ class ListenerList<K, E, O> {
 
     class Holder<T> {
 
-        private final @Nullable Holder<E> parent;
+        private final Class<? extends E> eventClass;
         private final Comparator<SubscribedListener<K, T, O>> sorter;
 
-        private final StampedLock lock = new StampedLock();
-        private final List<SubscribedListener<K, T, O>> listeners = new ArrayList<>();
+        // Replaced by CAS; readers never lock or copy.
+        private volatile Snapshot<K, T, O> snapshot;
 
-        volatile SubscribedListener<K, T, O> @Nullable [] sortedListenersArray;
+        Holder(@NotNull Class<? extends E> eventClass) {
+            this.eventClass = eventClass;
+            this.sorter = Comparator.comparing(SubscribedListener::order, ListenerList.this.orderComparator);
+            this.snapshot = Snapshot.empty(ListenerList.this.orderKey != null);
+        }
 
-        Holder(@Nullable Holder<E> parent, @NotNull Comparator<O> orderComparator) {
-            this.parent = parent;
-            this.sorter = Comparator.comparing(SubscribedListener::order, orderComparator);
+        @NotNull @Unmodifiable List<SubscribedListener<K, T, O>> listeners() {
+            var array = this.snapshot.listeners;
+            return array.length != 0 ? Collections.unmodifiableList(Arrays.asList(array)) : List.of();
         }
 
-        public @Nullable Holder<E> parent() {
-            return this.parent;
+        /**
+         * Checks if this {@link Holder} has the specified listener instance.
+         *
+         * @param listener the listener to check
+         * @return {@code true} if the same instance is subscribed
+         */
+        boolean contains(@NotNull SubscribedListener<K, ?, O> listener) {
+            for (var subscribed : this.snapshot.listeners) {
+                if (subscribed == listener) {
+                    return true;
+                }
+            }
+            return false;
         }
 
-        @NotNull @Unmodifiable List<SubscribedListener<K, T, O>> listeners() {
-            long readLock = this.lock.readLock();
-            List<SubscribedListener<K, T, O>> copiedListeners;
+        /**
+         * Gets the sorted array of the listeners.
+         *
+         * @return the sorted array of the listeners, or {@code null} if this {@link Holder} has no listeners
+         */
+        SubscribedListener<K, T, O> @Nullable [] sortedListenersArray() {
+            var array = this.snapshot.listeners;
+            return array.length != 0 ? array : null;
+        }
 
-            try {
-                copiedListeners = new ArrayList<>(this.listeners);
-            } finally {
-                this.lock.unlockRead(readLock);
+        /**
+         * Adds the listener after the listeners that have the same order.
+         *
+         * @param listener the listener to add
+         * @return {@code false} if this {@link Holder} has already been removed and the listener was not added
+         */
+        boolean add(@NotNull SubscribedListener<K, T, O> listener) {
+            return this.update(current -> {
+                int index = this.upperBound(current, listener.order());
+                var keys = current.orderKeys;
+
+                var updated = Arrays.copyOf(current.listeners, current.listeners.length + 1);
+                System.arraycopy(current.listeners, index, updated, index + 1, current.listeners.length - index);
+                updated[index] = listener;
+
+                int[] updatedKeys = null;
+                if (keys != null) {
+                    updatedKeys = Arrays.copyOf(keys, keys.length + 1);
+                    System.arraycopy(keys, index, updatedKeys, index + 1, keys.length - index);
+                    updatedKeys[index] = this.orderKey(listener.order());
+                }
+
+                return new Snapshot<>(updated, updatedKeys);
+            }, null);
+        }
+
+        /**
+         * Removes the listeners that match the specified predicate, and then adds the specified listeners, as a single update.
+         *
+         * @param removal  the supplier of the predicate to select listeners to remove, which is called for each attempt of the update
+         * @param added    the listeners to add
+         * @param removed  the list to store the removed listeners
+         * @param modified the {@link Modification} to record the update instead of notifying it
+         * @return {@code false} if this {@link Holder} has already been removed and nothing was changed
+         */
+        boolean replace(@NotNull Supplier<? extends Predicate<? super SubscribedListener<K, T, O>>> removal, @NotNull List<SubscribedListener<K, T, O>> added,
+                        @NotNull List<SubscribedListener<K, T, O>> removed, @NotNull Modification modified) {
+            var sortedAdded = this.sorted(added);
+            boolean result = this.update(current -> {
+                removed.clear();
+                var filtered = this.filter(current, removal.get(), removed);
+                return sortedAdded.listeners.length != 0 ? this.merge(filtered, sortedAdded) : filtered;
+            }, modified);
+            if (!result) {
+                removed.clear(); // Filled by an attempt that lost the CAS; the listeners were removed by another thread.
+            }
+            if (!removed.isEmpty()) {
+                modified.recordRemoval(this.eventClass);
             }
+            return result;
+        }
+
+        /**
+         * Removes the first listener that is equal to the specified listener.
+         *
+         * @param listener the listener to remove
+         * @return the removed listener, or an empty list if not found
+         */
+        @NotNull List<SubscribedListener<K, T, O>> remove(@NotNull SubscribedListener<K, ?, O> listener) {
+            var removed = new ArrayList<SubscribedListener<K, T, O>>(1);
+            boolean updated = this.update(current -> {
+                removed.clear();
+                var array = current.listeners;
 
-            return Collections.unmodifiableList(copiedListeners);
+                for (int i = this.lowerBound(current, listener.order()); i < array.length && this.hasOrder(current, i, listener.order()); i++) {
+                    if (array[i].equals(listener)) {
+                        removed.add(array[i]);
+                        return new Snapshot<>(removeAt(array, i), current.orderKeys != null ? removeAt(current.orderKeys, i) : null);
+                    }
+                }
+
+                return current;
+            }, null);
+            return updated ? removed : List.of(); // A retired holder has no listeners that this call could have removed.
         }
 
-        @SuppressWarnings("unchecked")
-        void modifyListeners(@NotNull Consumer<List<SubscribedListener<K, T, O>>> modifier) {
-            long writeLock = this.lock.writeLock();
+        /**
+         * Removes the listeners that match the specified predicate.
+         *
+         * @param predicate the predicate to select listeners to remove
+         * @return the removed listeners
+         */
+        @NotNull List<SubscribedListener<K, T, O>> removeIf(@NotNull Predicate<? super SubscribedListener<K, T, O>> predicate) {
+            var removed = new ArrayList<SubscribedListener<K, T, O>>();
+            boolean updated = this.update(current -> {
+                removed.clear();
+                return this.filter(current, predicate, removed);
+            }, null);
+            return updated ? removed : List.of(); // A retired holder has no listeners that this call could have removed.
+        }
 
-            try {
-                modifier.accept(this.listeners);
+        /**
+         * Modifies the listeners of this {@link Holder} through a mutable copy, and sorts them again.
+         * <p>
+         * Listeners added or removed by this method are not reflected in the key index of the {@link ListenerList}.
+         * The modifier may be called more than once if the listeners are modified concurrently.
+         *
+         * @param modifier the modifier of the listener list
+         * @return {@code false} if this {@link Holder} has already been removed and the modifier was not applied
+         */
+        boolean modifyListeners(@NotNull Consumer<List<SubscribedListener<K, T, O>>> modifier) {
+            return this.update(current -> {
+                var list = new ArrayList<>(Arrays.asList(current.listeners));
+                modifier.accept(list);
+                list.sort(this.sorter);
+                var updated = list.toArray(Snapshot.<K, T, O>newArray(list.size()));
 
-                if (this.listeners.isEmpty()) {
-                    this.sortedListenersArray = null;
-                } else {
-                    this.listeners.sort(this.sorter);
-                    this.sortedListenersArray = this.listeners.toArray(SubscribedListener[]::new);
+                int[] updatedKeys = null;
+                if (current.orderKeys != null) {
+                    updatedKeys = new int[updated.length];
+                    for (int i = 0; i < updated.length; i++) {
+                        updatedKeys[i] = this.orderKey(updated[i].order());
+                    }
                 }
-            } finally {
-                this.lock.unlockWrite(writeLock);
+
+                return new Snapshot<>(updated, updatedKeys);
+            }, null);
+        }
+
+        /**
+         * Replaces the {@link Snapshot} with the result of the specified operator by CAS.
+         * <p>
+         * The operator is called again with the latest {@link Snapshot} if another thread has replaced it concurrently, so it must not have side effects outside of itself.
+         * When no listeners remain, this {@link Holder} is removed from the {@link ListenerList} and cannot be modified anymore.
+         *
+         * @param operator the operator that returns the new {@link Snapshot}, or the given one if nothing has changed
+         * @param modified the {@link Modification} to record the update, or {@code null} to notify the update to the {@link ListenerList} immediately
+         * @return {@code false} if this {@link Holder} has already been removed and the operator was not applied; the results collected by the operator must be discarded then
+         */
+        private boolean update(@NotNull UnaryOperator<Snapshot<K, T, O>> operator, @Nullable Modification modified) {
+            var change = FlightRecorderEvents.beginListenerChange();
+            Snapshot<K, T, O> previous;
+            Snapshot<K, T, O> updated;
+
+            do {
+                previous = this.snapshot;
+
+                if (previous.isRetired()) {
+                    return false;
+                }
+
+                updated = operator.apply(previous);
+
+                if (updated.listeners.length == 0) {
+                    updated = Snapshot.retired();
+                } else if (updated == previous) {
+                    return true;
+                }
+            } while (!SNAPSHOT.compareAndSet(this, previous, updated));
+
+            FlightRecorderEvents.endListenerChange(change, this.eventClass, previous.listeners.length, updated.listeners.length);
+
+            if (updated.isRetired()) {
+                ListenerList.this.holderMap.remove(this.eventClass, this);
+
+                if (previous.listeners.length == 0) {
+                    return true;
+                }
+            }
+
+            var modification = modified != null ? modified : new Modification();
+            modification.modified = true;
+            modification.populated |= previous.listeners.length == 0;
+            if (updated.listeners.length < previous.listeners.length) {
+                modification.recordRemoval(this.eventClass);
+            }
+
+            if (modified == null) {
+                ListenerList.this.notifyModification(modification);
             }
+
+            return true;
         }
 
-        @SuppressWarnings({"unchecked", "UnnecessaryContinue"})
-        boolean postEvent(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
-            var listeners = this.sortedListenersArray;
-
-            if (listeners == null) {
-                return true;
-            }
-
-            for (var listener : listeners) {
-                try {
-                    listener.consumer().accept((T) event);
-                } catch (Throwable e) {
-                    switch (exceptionHandler.handleException(event, (SubscribedListener<K, ? extends E, O>) listener, e)) {
-                        case BREAK -> {
-                            return false;
-                        }
-                        case CONTINUE -> {
-                            continue;
-                        }
-                        case RETHROW -> {
-                            rethrow(e);
-                            throw new Error(e);
-                        }
+        private @NotNull Snapshot<K, T, O> sorted(@NotNull List<SubscribedListener<K, T, O>> listeners) {
+            var array = listeners.toArray(Snapshot.<K, T, O>newArray(0));
+
+            if (ListenerList.this.orderKey == null) {
+                Arrays.sort(array, this.sorter); // stable, and linear for presorted runs
+                return new Snapshot<>(array, null);
+            }
+
+            // Sorts the int values with the indices in the lower bits, which keeps the order of the same values without a Comparator.
+            var packed = new long[array.length];
+            for (int i = 0; i < array.length; i++) {
+                packed[i] = (long) this.orderKey(array[i].order()) << 32 | i;
+            }
+            Arrays.sort(packed);
+
+            var sorted = Snapshot.<K, T, O>newArray(array.length);
+            var keys = new int[array.length];
+            for (int i = 0; i < packed.length; i++) {
+                sorted[i] = array[(int) packed[i]];
+                keys[i] = (int) (packed[i] >> 32);
+            }
+
+            return new Snapshot<>(sorted, keys);
+        }
+
+        private @NotNull Snapshot<K, T, O> filter(@NotNull Snapshot<K, T, O> current, @NotNull Predicate<? super SubscribedListener<K, T, O>> predicate,
+                                                  @NotNull List<SubscribedListener<K, T, O>> removed) {
+            var array = current.listeners;
+            var keys = current.orderKeys;
+            var updated = Snapshot.<K, T, O>newArray(array.length);
+            var updatedKeys = keys != null ? new int[keys.length] : null;
+            int size = 0;
+
+            for (int i = 0; i < array.length; i++) {
+                if (predicate.test(array[i])) {
+                    removed.add(array[i]);
+                } else {
+                    if (updatedKeys != null) {
+                        updatedKeys[size] = keys[i];
                     }
+                    updated[size++] = array[i];
                 }
             }
 
-            return true;
+            if (size == array.length) {
+                return current;
+            }
+
+            return new Snapshot<>(Arrays.copyOf(updated, size), updatedKeys != null ? Arrays.copyOf(updatedKeys, size) : null);
+        }
+
+        private @NotNull Snapshot<K, T, O> merge(@NotNull Snapshot<K, T, O> current, @NotNull Snapshot<K, T, O> sortedAdded) {
+            var array = current.listeners;
+            var keys = current.orderKeys;
+            var added = sortedAdded.listeners;
+            var addedKeys = sortedAdded.orderKeys;
+            var merged = Snapshot.<K, T, O>newArray(array.length + added.length);
+            var mergedKeys = keys != null && addedKeys != null ? new int[merged.length] : null;
+            int i = 0;
+            int j = 0;
+            int k = 0;
+
+            while (i < array.length && j < added.length) {
+                // Existing listeners come first among the same order, as if added ones were appended and sorted.
+                boolean existing = mergedKeys != null ? keys[i] <= addedKeys[j] : ListenerList.this.orderComparator.compare(array[i].order(), added[j].order()) <= 0;
+                if (mergedKeys != null) {
+                    mergedKeys[k] = existing ? keys[i] : addedKeys[j];
+                }
+                merged[k++] = existing ? array[i++] : added[j++];
+            }
+
+            System.arraycopy(array, i, merged, k, array.length - i);
+            System.arraycopy(added, j, merged, k + array.length - i, added.length - j);
+
+            if (mergedKeys != null) {
+                System.arraycopy(keys, i, mergedKeys, k, keys.length - i);
+                System.arraycopy(addedKeys, j, mergedKeys, k + keys.length - i, addedKeys.length - j);
+            }
+
+            return new Snapshot<>(merged, mergedKeys);
+        }
+
+        private int lowerBound(@NotNull Snapshot<K, T, O> current, O order) {
+            var array = current.listeners;
+            var keys = current.orderKeys;
+            int key = keys != null ? this.orderKey(order) : 0;
+            int low = 0;
+            int high = array.length;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys != null ? keys[mid] < key : ListenerList.this.orderComparator.compare(array[mid].order(), order) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        private int upperBound(@NotNull Snapshot<K, T, O> current, O order) {
+            var array = current.listeners;
+            var keys = current.orderKeys;
+            int key = keys != null ? this.orderKey(order) : 0;
+            int low = 0;
+            int high = array.length;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys != null ? keys[mid] <= key : ListenerList.this.orderComparator.compare(array[mid].order(), order) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        private boolean hasOrder(@NotNull Snapshot<K, T, O> current, int index, O order) {
+            var keys = current.orderKeys;
+            return keys != null ? keys[index] == this.orderKey(order) : ListenerList.this.orderComparator.compare(current.listeners[index].order(), order) == 0;
+        }
+
+        private int orderKey(O order) {
+            return Objects.requireNonNull(ListenerList.this.orderKey).applyAsInt(order);
+        }
+
+        private static <L> @NotNull L[] removeAt(@NotNull L[] array, int index) {
+            var updated = Arrays.copyOf(array, array.length - 1);
+            System.arraycopy(array, index + 1, updated, index, array.length - index - 1);
+            return updated;
+        }
+
+        private static int @NotNull [] removeAt(int @NotNull [] array, int index) {
+            var updated = Arrays.copyOf(array, array.length - 1);
+            System.arraycopy(array, index + 1, updated, index, array.length - index - 1);
+            return updated;
+        }
+
+        @NotNull DispatchPlan<K, E, O> dispatchPlan() {
+            return ListenerList.this.dispatchPlan(this.eventClass);
+        }
+
+        boolean postEvent(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+            return DispatchPlan.isCompleted(this.dispatchPlan().post(event, exceptionHandler));
+        }
+    }
+
+    /**
+     * An immutable state of a {@link Holder}; the arrays are never modified after publication.
+     *
+     * @param <K> the key type
+     * @param <T> the event type
+     * @param <O> the order type
+     */
+    private static final class Snapshot<K, T, O> {
+
+        private static final Snapshot<?, ?, ?> EMPTY = new Snapshot<>(newArray(0), null);
+        private static final Snapshot<?, ?, ?> EMPTY_WITH_ORDER_KEYS = new Snapshot<>(newArray(0), new int[0]);
+        private static final Snapshot<?, ?, ?> RETIRED = new Snapshot<>(newArray(0), null);
+
+        private final SubscribedListener<K, T, O>[] listeners;
+        // The int values of the listener orders, parallel to the listeners, if the orders are mapped to int values.
+        private final int @Nullable [] orderKeys;
+
+        private Snapshot(@NotNull SubscribedListener<K, T, O>[] listeners, int @Nullable [] orderKeys) {
+            this.listeners = listeners;
+            this.orderKeys = orderKeys;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K, T, O> @NotNull Snapshot<K, T, O> empty(boolean orderKeys) {
+            return (Snapshot<K, T, O>) (orderKeys ? EMPTY_WITH_ORDER_KEYS : EMPTY);
         }
 
         @SuppressWarnings("unchecked")
-        private static <T extends Throwable> void rethrow(@NotNull Throwable exception) throws T {
-            throw (T) exception;
+        private static <K, T, O> @NotNull Snapshot<K, T, O> retired() {
+            return (Snapshot<K, T, O>) RETIRED;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static <K, T, O> @NotNull SubscribedListener<K, T, O>[] newArray(int length) {
+            return new SubscribedListener[length];
+        }
+
+        private boolean isRetired() {
+            return this == RETIRED;
+        }
+    }
+
+    /**
+     * The result of updating holders, which is notified to the {@link ListenerList} after the updates.
+     */
+    private static final class Modification {
+        private boolean modified;
+        private boolean populated;
+        private boolean removed;
+        // The classes of the holders that have removed listeners; created on the first removal.
+        private @Nullable Set<Class<?>> removedFrom;
+
+        private void recordRemoval(@NotNull Class<?> eventClass) {
+            if (this.removedFrom == null) {
+                this.removedFrom = new HashSet<>(1);
+            }
+            this.removed = true;
+            this.removedFrom.add(eventClass);
+        }
+
+        private boolean isRemovedFrom(@NotNull Class<?> subclass) {
+            if (this.removedFrom == null) {
+                return false;
+            }
+
+            for (var clazz : this.removedFrom) {
+                if (clazz.isAssignableFrom(subclass)) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
 }
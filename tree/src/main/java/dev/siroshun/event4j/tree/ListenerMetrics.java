@@ -0,0 +1,52 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A snapshot of the invocation metrics of a listener.
+ * <p>
+ * Percentiles are estimated from a histogram, and are accurate within 12.5% of the actual latencies.
+ * The values are read without stopping dispatching, so they may not be consistent with each other.
+ *
+ * @param listener     the {@link SubscribedListener}
+ * @param invocations  the number of invocations
+ * @param exceptions   the number of invocations that threw an exception
+ * @param totalNanos   the total latency in nanoseconds
+ * @param p50Nanos     the estimated 50th percentile latency in nanoseconds
+ * @param p99Nanos     the estimated 99th percentile latency in nanoseconds
+ * @param maxNanos     the maximum latency in nanoseconds
+ * @param <K>          the key type
+ * @param <E>          the event type
+ * @param <O>          the order type
+ * @see TreeEventService.Factory#listenerMetrics(boolean)
+ */
+public record ListenerMetrics<K, E, O>(@NotNull SubscribedListener<K, ? extends E, O> listener,
+                                       long invocations, long exceptions, long totalNanos,
+                                       long p50Nanos, long p99Nanos, long maxNanos) {
+}
@@ -0,0 +1,92 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A registry of {@link ListenerRecorder}s, that are identified by the {@link SubscribedListener} instances.
+ * <p>
+ * Recorders are resolved when {@link MeteredDispatchPlan}s are created, so dispatching events does not look up this registry.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+final class ListenerMetricsRegistry<K, E, O> {
+
+    private final Map<SubscribedListener<K, ? extends E, O>, ListenerRecorder> recorders = new IdentityHashMap<>();
+
+    synchronized @NotNull ListenerRecorder @NotNull [] recorders(SubscribedListener<K, ? extends E, O> @NotNull [] listeners) {
+        var result = new ListenerRecorder[listeners.length];
+        for (int i = 0; i < listeners.length; i++) {
+            result[i] = this.recorders.computeIfAbsent(listeners[i], ignored -> new ListenerRecorder());
+        }
+        return result;
+    }
+
+    /**
+     * Forgets the recorders of the unsubscribed listeners.
+     *
+     * @param removed the unsubscribed listeners
+     */
+    synchronized void release(@NotNull List<? extends SubscribedListener<K, ? extends E, O>> removed) {
+        for (var listener : removed) {
+            this.recorders.remove(listener);
+        }
+    }
+
+    /**
+     * Creates snapshots of the given listeners, and forgets the recorders of other listeners.
+     *
+     * @param listeners the currently subscribed listeners
+     * @return the snapshots in the order of the given listeners
+     */
+    synchronized @NotNull @Unmodifiable List<ListenerMetrics<K, E, O>> snapshot(@NotNull Collection<SubscribedListener<K, ? extends E, O>> listeners) {
+        var current = new IdentityHashMap<SubscribedListener<K, ? extends E, O>, ListenerRecorder>(listeners.size());
+        var snapshots = new ArrayList<ListenerMetrics<K, E, O>>(listeners.size());
+
+        for (var listener : listeners) {
+            var recorder = this.recorders.get(listener);
+            if (recorder == null) {
+                recorder = new ListenerRecorder(); // Not called yet
+            }
+            current.put(listener, recorder);
+            snapshots.add(recorder.snapshot(listener));
+        }
+
+        this.recorders.keySet().retainAll(current.keySet());
+        return List.copyOf(snapshots);
+    }
+}
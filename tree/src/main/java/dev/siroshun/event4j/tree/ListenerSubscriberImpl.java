@@ -33,9 +33,7 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -56,7 +54,8 @@ record ListenerSubscriberImpl<K, E, O>(@NotNull ListenerList<K, E, O> listenerLi
 
     @Override
     public <T extends E> @NotNull @Unmodifiable List<SubscribedListener<K, T, O>> listenersFor(@NotNull Class<T> eventClass) {
-        return this.listenerList.holder(eventClass).listeners();
+        var holder = this.listenerList.holderIfPresent(eventClass);
+        return holder != null ? holder.listeners() : List.of();
     }
 
     @Override
@@ -87,7 +86,7 @@ record ListenerSubscriberImpl<K, E, O>(@NotNull ListenerList<K, E, O> listenerLi
 
     @Contract("_ -> param1")
     private <T extends E> @NotNull SubscribedListener<K, T, O> addListener(@NotNull SubscribedListener<K, T, O> listener) {
-        this.listenerList.holder(listener.eventClass()).modifyListeners(list -> list.add(listener));
+        this.listenerList.addListener(listener);
         return listener;
     }
 
@@ -97,63 +96,42 @@ record ListenerSubscriberImpl<K, E, O>(@NotNull ListenerList<K, E, O> listenerLi
         return new ListenerBulkSubscriberImpl<>(this.listenerList, this.defaultOrder);
     }
 
+    @Override
+    @Contract("-> new")
+    public @NotNull ChangeSet<K, E, O> changeSet() {
+        return new ListenerChangeSetImpl<>(this.listenerList, this.defaultOrder);
+    }
+
     @Override
     public void unsubscribe(@NotNull SubscribedListener<K, ? extends E, O> subscribedListener) {
         Objects.requireNonNull(subscribedListener, "subscribedListener cannot be null.");
 
         if (subscribedListener instanceof SubscribedListenerImpl) {
-            this.listenerList.holder(subscribedListener.eventClass())
-                .modifyListeners(list -> list.remove(subscribedListener));
+            this.listenerList.removeListener(subscribedListener);
         }
     }
 
     @Override
     public void unsubscribeAll(@NotNull Collection<SubscribedListener<K, ? extends E, O>> subscribedListeners) {
         Objects.requireNonNull(subscribedListeners, "subscribedListeners cannot be null.");
-        var listenersToUnsubscribe = new ListenersToUnsubscribe(subscribedListeners.size());
+        var changes = new ListenerChanges<K, E, O>();
 
         subscribedListeners.stream()
             .filter(listener -> listener instanceof SubscribedListenerImpl)
-            .forEach(listenersToUnsubscribe::add);
+            .forEach(changes::removeAllEqual);
 
-        listenersToUnsubscribe.unsubscribeAll();
-    }
-
-    private class ListenersToUnsubscribe {
-
-        private final Map<Class<? extends E>, TypedListeners<K, ? extends E, O>> listenersToUnsubscribe;
-
-        private ListenersToUnsubscribe(int size) {
-            this.listenersToUnsubscribe = new HashMap<>(size, 1.0f);
-        }
-
-        private <T extends E> void add(@NotNull SubscribedListener<K, T, O> listener) {
-            this.listeners(listener.eventClass()).add(listener);
-        }
-
-        @SuppressWarnings("unchecked")
-        private <T> @NotNull TypedListeners<K, T, O> listeners(@NotNull Class<T> eventClass) {
-            return (TypedListeners<K, T, O>) this.listenersToUnsubscribe.computeIfAbsent((Class<? extends E>) eventClass, TypedListeners::new);
-        }
-
-        private void unsubscribeAll() {
-            this.listenersToUnsubscribe.values().forEach(this::unsubscribeAll);
-        }
-
-        private <T extends E> void unsubscribeAll(@NotNull TypedListeners<K, T, O> listeners) {
-            ListenerSubscriberImpl.this.listenerList.holder(listeners.eventClass()).modifyListeners(list -> list.removeAll(listeners.list()));
-        }
+        this.listenerList.applyChanges(changes);
     }
 
     @Override
     public void unsubscribeByKey(@NotNull K key) {
         Objects.requireNonNull(key, "key cannot be null.");
-        this.unsubscribeIf(listener -> listener.key().equals(key));
+        this.listenerList.removeListenersByKey(key);
     }
 
     @Override
     public void unsubscribeIf(@NotNull Predicate<SubscribedListener<K, ? extends E, O>> predicate) {
         Objects.requireNonNull(predicate, "predicate cannot be null.");
-        this.listenerList.holders().forEach(holder -> holder.modifyListeners(list -> list.removeIf(predicate)));
+        this.listenerList.removeListenersIf(predicate);
     }
 }
@@ -0,0 +1,162 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A {@link DispatchPlan} that measures the latency of each listener.
+ * <p>
+ * The latencies and exceptions are recorded to the {@link ListenerRecorder} of each listener,
+ * and the latencies are checked against the budget of each listener by the {@link SlowListenerWatchdog}.
+ * The {@link DispatchInterceptor}s are called outside the measurement.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+final class MeteredDispatchPlan<K, E, O> extends InterceptedDispatchPlan<K, E, O> {
+
+    static <K, E, O> DispatchPlan.@NotNull Factory<K, E, O> factory(@Nullable ListenerMetricsRegistry<K, E, O> registry,
+                                                                    @Nullable SlowListenerWatchdog<K, E, O> watchdog,
+                                                                    @NotNull DispatchInterceptor<K, E, O> @NotNull [] interceptors) {
+        return new DispatchPlan.Factory<>() {
+            @Override
+            public @NotNull DispatchPlan<K, E, O> create(long generation, SubscribedListener<K, ? extends E, O> @NotNull [] listeners,
+                                                         @Nullable DispatchPlan<K, E, O> previous) {
+                if (previous instanceof MeteredDispatchPlan<K, E, O> metered && metered.hasSameListeners(listeners)) {
+                    return new MeteredDispatchPlan<>(generation, listeners, interceptors, metered.recorders, watchdog, metered.budgets);
+                }
+                return new MeteredDispatchPlan<>(
+                    generation, listeners, interceptors,
+                    registry != null ? registry.recorders(listeners) : null,
+                    watchdog, watchdog != null ? watchdog.budgets(listeners) : null
+                );
+            }
+
+            @Override
+            public void release(@NotNull List<? extends SubscribedListener<K, ? extends E, O>> removed) {
+                if (registry != null) {
+                    registry.release(removed);
+                }
+                if (watchdog != null) {
+                    watchdog.release(removed);
+                }
+            }
+        };
+    }
+
+    private final @NotNull ListenerRecorder @Nullable [] recorders;
+    private final @Nullable SlowListenerWatchdog<K, E, O> watchdog;
+    private final SlowListenerWatchdog.@Nullable ListenerBudget @Nullable [] budgets;
+
+    private MeteredDispatchPlan(long generation, SubscribedListener<K, ? extends E, O> @NotNull [] listeners,
+                                @NotNull DispatchInterceptor<K, E, O> @NotNull [] interceptors,
+                                @NotNull ListenerRecorder @Nullable [] recorders,
+                                @Nullable SlowListenerWatchdog<K, E, O> watchdog,
+                                SlowListenerWatchdog.@Nullable ListenerBudget @Nullable [] budgets) {
+        super(generation, listeners, interceptors);
+        this.recorders = recorders;
+        this.watchdog = watchdog;
+        this.budgets = budgets;
+    }
+
+    @NotNull ListenerRecorder @Nullable [] recorders() {
+        return this.recorders;
+    }
+
+    @Override
+    @SuppressWarnings("UnnecessaryContinue")
+    int postListeners(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        var listeners = this.listeners();
+        int reached = 0;
+
+        for (int i = 0; i < listeners.length; i++) {
+            if (this.budgets != null && this.budgets[i] != null && this.budgets[i].quarantined) {
+                continue;
+            }
+
+            reached++;
+
+            var listener = listeners[i];
+            var exception = this.invoke(i, event, listener);
+
+            if (exception != null) {
+                switch (exceptionHandler.handleException(event, listener, exception)) {
+                    case BREAK -> {
+                        return stopped(reached);
+                    }
+                    case CONTINUE -> {
+                        continue;
+                    }
+                    case RETHROW -> {
+                        rethrow(exception);
+                        throw new Error(exception);
+                    }
+                }
+            }
+        }
+
+        return reached;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    @Nullable Throwable call(int index, @NotNull E event, @NotNull SubscribedListener<K, ? extends E, O> listener) {
+        long start = System.nanoTime();
+        Throwable exception = null;
+
+        try {
+            ((Consumer<Object>) listener.consumer()).accept(event);
+        } catch (Throwable e) {
+            exception = e;
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        if (this.recorders != null) {
+            if (exception == null) {
+                this.recorders[index].record(elapsed);
+            } else {
+                this.recorders[index].recordException(elapsed);
+            }
+        }
+
+        var watchdog = this.watchdog;
+        var budget = watchdog != null && this.budgets != null ? this.budgets[index] : null;
+        if (budget != null) {
+            watchdog.check(event, listener, budget, elapsed);
+        }
+
+        return exception;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A {@link DispatchPlan} that calls each group of listeners with the same order concurrently.
+ * <p>
+ * A group consists of consecutive listeners of the same event class whose orders are equal by the order {@link Comparator}.
+ * The listeners of a group are claimed one by one by the calling thread and the tasks submitted to the {@link Executor}.
+ * The calling thread keeps calling unclaimed listeners, and only waits for the listeners that other threads have already started,
+ * so dispatching from a thread of the same bounded {@link Executor} does not starve it even if the submitted tasks are still queued.
+ * The next group is called after all listeners of the group have returned.
+ * <p>
+ * Thrown exceptions are passed to the {@link ListenerExceptionHandler} on the calling thread in the order of the listeners after the group has completed,
+ * so {@link ListenerExceptionHandler.Result#BREAK} and {@link ListenerExceptionHandler.Result#RETHROW} skip the later groups, not the rest of the same group.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+final class ParallelDispatchPlan<K, E, O> extends DispatchPlan<K, E, O> {
+
+    static <K, E, O> DispatchPlan.@NotNull Factory<K, E, O> factory(@NotNull Executor executor, @NotNull Comparator<? super O> orderComparator) {
+        return (generation, listeners, previous) -> {
+            var groupEnds = groupEnds(listeners, orderComparator, previous);
+            // Without groups of two or more listeners, there is nothing to call concurrently.
+            return groupEnds.length == listeners.length ?
+                new DispatchPlan<>(generation, listeners) :
+                new ParallelDispatchPlan<>(generation, listeners, groupEnds, executor);
+        };
+    }
+
+    private static <K, E, O> int @NotNull [] groupEnds(SubscribedListener<K, ? extends E, O> @NotNull [] listeners, @NotNull Comparator<? super O> orderComparator,
+                                                       @Nullable DispatchPlan<K, E, O> previous) {
+        if (previous instanceof ParallelDispatchPlan<K, E, O> parallel && parallel.hasSameListeners(listeners)) {
+            return parallel.groupEnds;
+        }
+
+        var ends = new int[listeners.length];
+        int count = 0;
+
+        for (int i = 1; i < listeners.length; i++) {
+            var prev = listeners[i - 1];
+            var current = listeners[i];
+            if (prev.eventClass() != current.eventClass() || orderComparator.compare(prev.order(), current.order()) != 0) {
+                ends[count++] = i;
+            }
+        }
+
+        if (listeners.length != 0) {
+            ends[count++] = listeners.length;
+        }
+
+        return count == ends.length ? ends : Arrays.copyOf(ends, count);
+    }
+
+    private final int[] groupEnds;
+    private final Executor executor;
+
+    private ParallelDispatchPlan(long generation, SubscribedListener<K, ? extends E, O> @NotNull [] listeners,
+                                 int @NotNull [] groupEnds, @NotNull Executor executor) {
+        super(generation, listeners);
+        this.groupEnds = groupEnds;
+        this.executor = executor;
+    }
+
+    @Override
+    @SuppressWarnings("UnnecessaryContinue")
+    int post(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        var listeners = this.listeners();
+        int start = 0;
+
+        for (int end : this.groupEnds) {
+            var exceptions = end - start == 1 ?
+                callSingle(event, listeners[start]) :
+                this.callGroup(event, listeners, start, end);
+
+            if (exceptions != null) {
+                for (int i = 0; i < exceptions.length; i++) {
+                    var exception = exceptions[i];
+                    if (exception == null) {
+                        continue;
+                    }
+
+                    switch (exceptionHandler.handleException(event, listeners[start + i], exception)) {
+                        case BREAK -> {
+                            return stopped(end); // The other listeners of the group have already been called
+                        }
+                        case CONTINUE -> {
+                            continue;
+                        }
+                        case RETHROW -> {
+                            rethrow(exception);
+                            throw new Error(exception);
+                        }
+                    }
+                }
+            }
+
+            start = end;
+        }
+
+        return listeners.length;
+    }
+
+    private static <E> Throwable @Nullable [] callSingle(@NotNull E event, @NotNull SubscribedListener<?, ? extends E, ?> listener) {
+        var exception = call(event, listener);
+        return exception != null ? new Throwable[]{exception} : null;
+    }
+
+    private Throwable @Nullable [] callGroup(@NotNull E event, SubscribedListener<K, ? extends E, O> @NotNull [] listeners, int start, int end) {
+        var group = new Group<>(event, listeners, start, end - start);
+
+        for (int i = start + 1; i < end; i++) {
+            try {
+                this.executor.execute(group::callNext);
+            } catch (RejectedExecutionException e) {
+                break; // The calling thread calls the remaining listeners
+            }
+        }
+
+        while (group.callNext()) {
+            // Calls the listeners that are not claimed by the executor yet
+        }
+
+        group.await();
+        return group.exceptions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static @Nullable Throwable call(@NotNull Object event, @NotNull SubscribedListener<?, ?, ?> listener) {
+        try {
+            ((Consumer<Object>) listener.consumer()).accept(event);
+            return null;
+        } catch (Throwable e) {
+            return e;
+        }
+    }
+
+    @Override
+    int postRecordingListeners(@NotNull E event, @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
+        return this.post(event, exceptionHandler); // Listeners are called concurrently, so only the whole dispatch is recorded.
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> void rethrow(@NotNull Throwable exception) throws T {
+        throw (T) exception;
+    }
+
+    /**
+     * Hands out the listeners of a group, collects their exceptions and waits for all of them.
+     * <p>
+     * Each listener is claimed by exactly one thread.
+     * The exceptions are published to the calling thread by {@link CountDownLatch}.
+     */
+    private static final class Group<E> {
+
+        private final E event;
+        private final SubscribedListener<?, ? extends E, ?>[] listeners;
+        private final int start;
+        private final int size;
+        private final AtomicInteger next = new AtomicInteger();
+        private final CountDownLatch latch;
+        private Throwable @Nullable [] exceptions;
+
+        private Group(@NotNull E event, SubscribedListener<?, ? extends E, ?> @NotNull [] listeners, int start, int size) {
+            this.event = event;
+            this.listeners = listeners;
+            this.start = start;
+            this.size = size;
+            this.latch = new CountDownLatch(size);
+        }
+
+        /**
+         * Claims and calls the next listener of this group.
+         *
+         * @return {@code false} if all listeners have already been claimed
+         */
+        private boolean callNext() {
+            int index = this.next.getAndIncrement();
+
+            if (this.size <= index) {
+                return false;
+            }
+
+            this.complete(index, call(this.event, this.listeners[this.start + index]));
+            return true;
+        }
+
+        private void complete(int index, @Nullable Throwable exception) {
+            if (exception != null) {
+                synchronized (this) {
+                    if (this.exceptions == null) {
+                        this.exceptions = new Throwable[this.size];
+                    }
+                    this.exceptions[index] = exception;
+                }
+            }
+            this.latch.countDown();
+        }
+
+        private void await() {
+            boolean interrupted = false;
+
+            while (true) {
+                try {
+                    this.latch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // Listeners of the group are still running on other threads, so keep waiting and restore the interrupt status later.
+                    interrupted = true;
+                }
+            }
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
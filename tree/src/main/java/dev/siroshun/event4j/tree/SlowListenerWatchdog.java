@@ -0,0 +1,121 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.SlowListenerHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A watchdog that holds the time budget and the violations of each listener.
+ * <p>
+ * Budgets are resolved when {@link MeteredDispatchPlan}s are created, so dispatching events does not look up this watchdog.
+ * They are identified by the {@link SubscribedListener} instances, so equal listeners have their own budgets,
+ * and they are released when the listeners are unsubscribed, so a listener that is subscribed again starts with a new budget.
+ *
+ * @param <K> the key type
+ * @param <E> the event type
+ * @param <O> the order type
+ */
+final class SlowListenerWatchdog<K, E, O> {
+
+    private final Function<? super K, @Nullable Duration> budgets;
+    private final SlowListenerHandler<K, E, O> handler;
+    private final Map<SubscribedListener<K, ? extends E, O>, ListenerBudget> listenerBudgets = new IdentityHashMap<>();
+
+    SlowListenerWatchdog(@NotNull Function<? super K, @Nullable Duration> budgets, @NotNull SlowListenerHandler<K, E, O> handler) {
+        this.budgets = budgets;
+        this.handler = handler;
+    }
+
+    synchronized @Nullable ListenerBudget @NotNull [] budgets(SubscribedListener<K, ? extends E, O> @NotNull [] listeners) {
+        var result = new ListenerBudget[listeners.length];
+        for (int i = 0; i < listeners.length; i++) {
+            var listener = listeners[i];
+            var budget = this.listenerBudgets.get(listener);
+
+            if (budget == null) {
+                var duration = this.budgets.apply(listener.key());
+                if (duration == null) {
+                    continue; // This listener is not watched
+                }
+                budget = new ListenerBudget(duration);
+                this.listenerBudgets.put(listener, budget);
+            }
+
+            result[i] = budget;
+        }
+        return result;
+    }
+
+    /**
+     * Forgets the budgets of the unsubscribed listeners.
+     *
+     * @param removed the unsubscribed listeners
+     */
+    synchronized void release(@NotNull List<? extends SubscribedListener<K, ? extends E, O>> removed) {
+        for (var listener : removed) {
+            this.listenerBudgets.remove(listener);
+        }
+    }
+
+    /**
+     * Checks the elapsed time of the listener, and passes the violation to the {@link SlowListenerHandler}.
+     */
+    void check(@NotNull E event, @NotNull SubscribedListener<K, ? extends E, O> listener, @NotNull ListenerBudget budget, long elapsedNanos) {
+        if (elapsedNanos <= budget.budgetNanos) {
+            return;
+        }
+
+        int violations = budget.violations.incrementAndGet();
+        var result = this.handler.handleSlowListener(event, listener, Duration.ofNanos(elapsedNanos), budget.budget, violations);
+
+        if (result == SlowListenerHandler.Result.QUARANTINE) {
+            budget.quarantined = true;
+        }
+    }
+
+    static final class ListenerBudget {
+
+        private final Duration budget;
+        private final long budgetNanos;
+        private final AtomicInteger violations = new AtomicInteger();
+        volatile boolean quarantined;
+
+        private ListenerBudget(@NotNull Duration budget) {
+            this.budget = budget;
+            this.budgetNanos = budget.toNanos();
+        }
+    }
+}
@@ -27,11 +27,19 @@ package dev.siroshun.event4j.tree;
 import dev.siroshun.event4j.api.caller.EventCaller;
 import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
 import dev.siroshun.event4j.api.listener.ListenerSubscriber;
+import dev.siroshun.event4j.api.listener.SlowListenerHandler;
+import dev.siroshun.event4j.api.priority.Priority;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
 
+import java.time.Duration;
 import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * An interface for retrieving an instance of {@link EventCaller} and {@link ListenerSubscriber}.
@@ -57,7 +65,7 @@ public interface TreeEventService<K, E, O> {
      */
     @Contract(value = " -> new", pure = true)
     static <K, E, O> TreeEventService.@NotNull Factory<K, E, O> factory() {
-        return new TreeEventServiceImpl.FactoryImpl<>(null, null, null);
+        return new TreeEventServiceImpl.FactoryImpl<>(null, null, null, null, DispatchOptions.DEFAULT);
     }
 
     /**
@@ -74,6 +82,34 @@ public interface TreeEventService<K, E, O> {
      */
     @NotNull ListenerSubscriber<K, E, O> subscriber();
 
+    /**
+     * Gets the snapshots of the invocation metrics of the currently subscribed listeners.
+     * <p>
+     * This returns an empty list unless the metrics are enabled by {@link Factory#listenerMetrics(boolean)}.
+     *
+     * @return the snapshots of the invocation metrics
+     */
+    @NotNull @Unmodifiable List<ListenerMetrics<K, E, O>> listenerMetrics();
+
+    /**
+     * Gets the snapshots of the dispatch counters of the event classes that have been fired.
+     * <p>
+     * This returns an empty list unless the counters are enabled by {@link Factory#eventClassStatistics(boolean)}.
+     *
+     * @return the snapshots of the dispatch counters
+     */
+    @NotNull @Unmodifiable List<EventClassStatistics<E>> eventClassStatistics();
+
+    /**
+     * Gets the snapshots of the dispatch counters, and resets the counters to zero.
+     * <p>
+     * Events that are fired while resetting may be counted in either this or the next snapshot, but they are never lost.
+     *
+     * @return the snapshots of the dispatch counters before resetting
+     * @see #eventClassStatistics()
+     */
+    @NotNull @Unmodifiable List<EventClassStatistics<E>> resetEventClassStatistics();
+
     /**
      * A factory interface to create {@link TreeEventService}.
      * <p>
@@ -142,6 +178,131 @@ public interface TreeEventService<K, E, O> {
         @Contract("_ -> new")
         <O1 extends Comparable<O1>> @NotNull Factory<K, E, O1> defaultOrder(@NotNull O1 defaultOrder);
 
+        /**
+         * Sets the function that maps orders to int values, and the default order.
+         * <p>
+         * Listeners are sorted by {@link Integer#compare(int, int)} of the mapped values.
+         * The values are kept alongside the listeners, so that subscribing and unsubscribing listeners do not call {@link Comparator}s.
+         * The function must always return the same value for the same order, and orders passed to it cannot be null.
+         * <p>
+         * {@link Priority} orders are mapped to {@link Priority#value()} automatically
+         * when the default order is {@link Priority} and the {@link Comparator} is {@link Priority#COMPARATOR}.
+         *
+         * @param orderKey     the function that maps orders to int values
+         * @param defaultOrder the default order that is used when the order is not specified
+         * @param <O1>         the new order type
+         * @return the new {@link Factory}
+         */
+        @Contract("_, _ -> new")
+        <O1> @NotNull Factory<K, E, O1> intOrder(@NotNull ToIntFunction<? super O1> orderKey, @Nullable O1 defaultOrder);
+
+        /**
+         * Sets whether to call listeners through generated invokers.
+         * <p>
+         * When enabled, a hidden class is defined for each listener of each event class and is regenerated when the listeners are modified.
+         * This makes every call site monomorphic, so that the JIT compiler can inline small listeners,
+         * at the cost of defining classes on the first call after modifications.
+         * <p>
+         * This is disabled by default.
+         *
+         * @param compiledDispatch {@code true} to enable the compiled dispatch, {@code false} to disable it
+         * @return the new {@link Factory}
+         */
+        @Contract("_ -> new")
+        @NotNull Factory<K, E, O> compiledDispatch(boolean compiledDispatch);
+
+        /**
+         * Sets the {@link Executor} to call listeners with the same order concurrently.
+         * <p>
+         * When set, consecutive listeners of the same event class whose orders are equal are called concurrently as a group,
+         * on the calling thread and the {@link Executor}, and the next group is called after all of them have returned.
+         * The calling thread calls the listeners that the {@link Executor} has not started yet instead of waiting for them,
+         * so events can be called from the threads of the same bounded {@link Executor}.
+         * Thrown exceptions are passed to the {@link ListenerExceptionHandler} on the calling thread in the order of the listeners after the group has completed,
+         * so {@link ListenerExceptionHandler.Result#BREAK} and {@link ListenerExceptionHandler.Result#RETHROW} do not stop the other listeners of the same group.
+         * <p>
+         * Listeners of the same group must be independent of each other.
+         * This takes precedence over {@link #compiledDispatch(boolean)}, and is disabled by default.
+         *
+         * @param executor the {@link Executor} to call listeners, such as {@link java.util.concurrent.ForkJoinPool#commonPool()} or {@link java.util.concurrent.Executors#newVirtualThreadPerTaskExecutor()},
+         *                 or {@code null} to disable the parallel dispatch
+         * @return the new {@link Factory}
+         */
+        @Contract("_ -> new")
+        @NotNull Factory<K, E, O> parallelDispatch(@Nullable Executor executor);
+
+        /**
+         * Sets whether to record the invocation count, the exception count and the latency histogram of each listener.
+         * <p>
+         * The recorded metrics can be read by {@link TreeEventService#listenerMetrics()}.
+         * When enabled, listeners are called one by one and measured by {@link System#nanoTime()},
+         * so this takes precedence over {@link #compiledDispatch(boolean)} and {@link #parallelDispatch(Executor)}.
+         * When disabled, nothing is recorded or checked while dispatching.
+         * <p>
+         * This is disabled by default.
+         *
+         * @param listenerMetrics {@code true} to enable the listener metrics, {@code false} to disable it
+         * @return the new {@link Factory}
+         */
+        @Contract("_ -> new")
+        @NotNull Factory<K, E, O> listenerMetrics(boolean listenerMetrics);
+
+        /**
+         * Sets the time budget of all listeners and the {@link SlowListenerHandler} to handle the listeners that exceed it.
+         *
+         * @param budget  the time budget of each listener invocation
+         * @param handler the {@link SlowListenerHandler}
+         * @return the new {@link Factory}
+         * @see #slowListenerWatchdog(Function, SlowListenerHandler)
+         */
+        @Contract("_, _ -> new")
+        @NotNull Factory<K, E, O> slowListenerWatchdog(@NotNull Duration budget, @NotNull SlowListenerHandler<K, E, O> handler);
+
+        /**
+         * Sets the time budget of each listener key and the {@link SlowListenerHandler} to handle the listeners that exceed it.
+         * <p>
+         * The budget of a listener is resolved once by its key, and the listener is not watched if the function returns {@code null}.
+         * Listeners that are quarantined by the {@link SlowListenerHandler} are skipped until they are unsubscribed.
+         * <p>
+         * When enabled, listeners are called one by one and measured by {@link System#nanoTime()},
+         * so this takes precedence over {@link #compiledDispatch(boolean)} and {@link #parallelDispatch(Executor)}.
+         * This works with {@link #listenerMetrics(boolean)}, and is disabled by default.
+         *
+         * @param budgets the function to get the time budget from the listener key
+         * @param handler the {@link SlowListenerHandler}
+         * @return the new {@link Factory}
+         */
+        @Contract("_, _ -> new")
+        @NotNull Factory<K, E, O> slowListenerWatchdog(@NotNull Function<? super K, @Nullable Duration> budgets, @NotNull SlowListenerHandler<K, E, O> handler);
+
+        /**
+         * Sets whether to count the events, the listener calls and the stopped dispatches of each event class.
+         * <p>
+         * The counters can be read by {@link TreeEventService#eventClassStatistics()}.
+         * Events without listeners are also counted, including the ones that are not created by {@link EventCaller#call(Class, java.util.function.Supplier)}.
+         * <p>
+         * This is disabled by default.
+         *
+         * @param eventClassStatistics {@code true} to enable the event class statistics, {@code false} to disable it
+         * @return the new {@link Factory}
+         */
+        @Contract("_ -> new")
+        @NotNull Factory<K, E, O> eventClassStatistics(boolean eventClassStatistics);
+
+        /**
+         * Adds the {@link DispatchInterceptor} that is called around dispatching events and calling listeners.
+         * <p>
+         * Interceptors are called in the order of addition, and are not called for events that have no listeners.
+         * When any interceptor is added, listeners are called one by one,
+         * so this takes precedence over {@link #compiledDispatch(boolean)} and {@link #parallelDispatch(Executor)}.
+         * Without interceptors, events are dispatched as if this feature does not exist.
+         *
+         * @param interceptor the {@link DispatchInterceptor} to add
+         * @return the new {@link Factory}
+         */
+        @Contract("_ -> new")
+        @NotNull Factory<K, E, O> addDispatchInterceptor(@NotNull DispatchInterceptor<K, E, O> interceptor);
+
         /**
          * Creates a new {@link TreeEventService} with {@link ListenerExceptionHandler#continueHandler()}.
          *
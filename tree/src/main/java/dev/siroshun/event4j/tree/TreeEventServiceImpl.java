@@ -27,22 +27,37 @@ package dev.siroshun.event4j.tree;
 import dev.siroshun.event4j.api.caller.EventCaller;
 import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
 import dev.siroshun.event4j.api.listener.ListenerSubscriber;
+import dev.siroshun.event4j.api.listener.SlowListenerHandler;
+import dev.siroshun.event4j.api.priority.Priority;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
+import org.jetbrains.annotations.Unmodifiable;
 
+import java.time.Duration;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 class TreeEventServiceImpl<K, E, O> implements TreeEventService<K, E, O> {
 
     private final ListenerSubscriber<K, E, O> subscriber;
     private final EventCaller<E> eventCaller;
-
-    TreeEventServiceImpl(@NotNull Class<E> eventClass, @NotNull Comparator<O> sorter, @UnknownNullability O defaultOrder,
-                         @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler) {
-        var listenerList = new ListenerList<K, E, O>(eventClass, sorter);
+    private final @Nullable ListenerMetricsRegistry<K, E, O> metrics;
+    private final @Nullable EventClassStatisticsRegistry<K, E, O> statistics;
+
+    TreeEventServiceImpl(@NotNull Class<E> eventClass, @NotNull Comparator<O> sorter, @Nullable ToIntFunction<? super O> orderKey, @UnknownNullability O defaultOrder,
+                         @NotNull ListenerExceptionHandler<K, E, O> exceptionHandler, @NotNull DispatchOptions options) {
+        this.metrics = options.listenerMetrics() ? new ListenerMetricsRegistry<>() : null;
+        this.statistics = options.eventClassStatistics() ? new EventClassStatisticsRegistry<>() : null;
+        SlowListenerWatchdog<K, E, O> watchdog = options.slowListenerWatchdog();
+        var planFactory = this.metrics != null || watchdog != null ? MeteredDispatchPlan.factory(this.metrics, watchdog, options.dispatchInterceptors()) : options.<K, E, O>planFactory(sorter);
+        var listenerList = new ListenerList<>(eventClass, sorter, orderKey, planFactory);
         this.subscriber = new ListenerSubscriberImpl<>(listenerList, defaultOrder);
-        this.eventCaller = new EventCallerImpl<>(listenerList, exceptionHandler);
+        this.eventCaller = new EventCallerImpl<>(listenerList, exceptionHandler, this.statistics);
     }
 
     @Override
@@ -55,9 +70,26 @@ class TreeEventServiceImpl<K, E, O> implements TreeEventService<K, E, O> {
         return this.subscriber;
     }
 
+    @Override
+    public @NotNull @Unmodifiable List<ListenerMetrics<K, E, O>> listenerMetrics() {
+        return this.metrics != null ? this.metrics.snapshot(this.subscriber.allListeners()) : List.of();
+    }
+
+    @Override
+    public @NotNull @Unmodifiable List<EventClassStatistics<E>> eventClassStatistics() {
+        return this.statistics != null ? this.statistics.snapshot(false) : List.of();
+    }
+
+    @Override
+    public @NotNull @Unmodifiable List<EventClassStatistics<E>> resetEventClassStatistics() {
+        return this.statistics != null ? this.statistics.snapshot(true) : List.of();
+    }
+
     record FactoryImpl<K, E, O>(Class<E> eventClass,
                                 Comparator<O> orderComparator,
-                                O defaultOrder) implements Factory<K, E, O> {
+                                @Nullable ToIntFunction<? super O> orderKey,
+                                O defaultOrder,
+                                @NotNull DispatchOptions options) implements Factory<K, E, O> {
 
         @SuppressWarnings("unchecked")
         @Override
@@ -68,25 +100,76 @@ class TreeEventServiceImpl<K, E, O> implements TreeEventService<K, E, O> {
         @SuppressWarnings("unchecked")
         @Override
         public <E1> @NotNull Factory<K, E1, O> eventClass(Class<? extends E1> eventClass) {
-            return new FactoryImpl<>((Class<E1>) eventClass, this.orderComparator, this.defaultOrder);
+            return new FactoryImpl<>((Class<E1>) eventClass, this.orderComparator, this.orderKey, this.defaultOrder, this.options);
         }
 
         @SuppressWarnings("unchecked")
         @Override
         public <O1> @NotNull Factory<K, E, O1> orderComparator(Comparator<? super O1> orderComparator) {
-            return new FactoryImpl<>(this.eventClass, (Comparator<O1>) orderComparator, null);
+            return new FactoryImpl<>(this.eventClass, (Comparator<O1>) orderComparator, null, null, this.options);
         }
 
         @SuppressWarnings("unchecked")
         @Override
         public <O1> @NotNull Factory<K, E, O1> orderComparator(Comparator<? super O1> orderComparator, O1 defaultOrder) {
-            return new FactoryImpl<>(this.eventClass, (Comparator<O1>) orderComparator, defaultOrder);
+            return new FactoryImpl<>(this.eventClass, (Comparator<O1>) orderComparator, priorityKey(orderComparator, defaultOrder), defaultOrder, this.options);
         }
 
         @Override
         public <O1 extends Comparable<O1>> @NotNull Factory<K, E, O1> defaultOrder(@NotNull O1 defaultOrder) {
             Objects.requireNonNull(defaultOrder, "defaultOrder cannot be null without orderComparator");
-            return new FactoryImpl<>(this.eventClass, Comparator.naturalOrder(), defaultOrder);
+            return new FactoryImpl<>(this.eventClass, Comparator.naturalOrder(), priorityKey(Comparator.naturalOrder(), defaultOrder), defaultOrder, this.options);
+        }
+
+        @Override
+        public <O1> @NotNull Factory<K, E, O1> intOrder(@NotNull ToIntFunction<? super O1> orderKey, @Nullable O1 defaultOrder) {
+            Objects.requireNonNull(orderKey, "orderKey cannot be null.");
+            return new FactoryImpl<>(this.eventClass, Comparator.comparingInt(orderKey), orderKey, defaultOrder, this.options);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <O1> @Nullable ToIntFunction<? super O1> priorityKey(@NotNull Comparator<? super O1> orderComparator, @Nullable O1 defaultOrder) {
+            // Priority.COMPARATOR is the natural order, which is the same as comparing Priority#value.
+            return orderComparator == Priority.COMPARATOR && defaultOrder instanceof Priority ? (ToIntFunction<? super O1>) (ToIntFunction<Priority>) Priority::value : null;
+        }
+
+        @Override
+        public @NotNull Factory<K, E, O> compiledDispatch(boolean compiledDispatch) {
+            return new FactoryImpl<>(this.eventClass, this.orderComparator, this.orderKey, this.defaultOrder, this.options.withCompiledDispatch(compiledDispatch));
+        }
+
+        @Override
+        public @NotNull Factory<K, E, O> parallelDispatch(@Nullable Executor executor) {
+            return new FactoryImpl<>(this.eventClass, this.orderComparator, this.orderKey, this.defaultOrder, this.options.withParallelExecutor(executor));
+        }
+
+        @Override
+        public @NotNull Factory<K, E, O> listenerMetrics(boolean listenerMetrics) {
+            return new FactoryImpl<>(this.eventClass, this.orderComparator, this.orderKey, this.defaultOrder, this.options.withListenerMetrics(listenerMetrics));
+        }
+
+        @Override
+        public @NotNull Factory<K, E, O> slowListenerWatchdog(@NotNull Duration budget, @NotNull SlowListenerHandler<K, E, O> handler) {
+            Objects.requireNonNull(budget, "budget cannot be null.");
+            return this.slowListenerWatchdog(key -> budget, handler);
+        }
+
+        @Override
+        public @NotNull Factory<K, E, O> slowListenerWatchdog(@NotNull Function<? super K, @Nullable Duration> budgets, @NotNull SlowListenerHandler<K, E, O> handler) {
+            Objects.requireNonNull(budgets, "budgets cannot be null.");
+            Objects.requireNonNull(handler, "handler cannot be null.");
+            return new FactoryImpl<>(this.eventClass, this.orderComparator, this.orderKey, this.defaultOrder, this.options.withSlowListenerWatchdog(budgets, handler));
+        }
+
+        @Override
+        public @NotNull Factory<K, E, O> eventClassStatistics(boolean eventClassStatistics) {
+            return new FactoryImpl<>(this.eventClass, this.orderComparator, this.orderKey, this.defaultOrder, this.options.withEventClassStatistics(eventClassStatistics));
+        }
+
+        @Override
+        public @NotNull Factory<K, E, O> addDispatchInterceptor(@NotNull DispatchInterceptor<K, E, O> interceptor) {
+            Objects.requireNonNull(interceptor, "interceptor cannot be null.");
+            return new FactoryImpl<>(this.eventClass, this.orderComparator, this.orderKey, this.defaultOrder, this.options.withDispatchInterceptor(interceptor));
         }
 
         @Override
@@ -99,7 +182,7 @@ class TreeEventServiceImpl<K, E, O> implements TreeEventService<K, E, O> {
             Objects.requireNonNull(exceptionHandler, "exceptionHandler cannot be null.");
             Objects.requireNonNull(this.eventClass, "eventClass is not set.");
             Objects.requireNonNull(this.orderComparator, "orderComparator is not set.");
-            return new TreeEventServiceImpl<>(this.eventClass, this.orderComparator, this.defaultOrder, exceptionHandler);
+            return new TreeEventServiceImpl<>(this.eventClass, this.orderComparator, this.orderKey, this.defaultOrder, exceptionHandler, this.options);
         }
     }
 }
@@ -6,6 +6,7 @@
 module dev.siroshun.event4j.tree {
     requires org.jetbrains.annotations;
     requires dev.siroshun.event4j.api;
+    requires jdk.jfr;
 
     exports dev.siroshun.event4j.tree;
 }
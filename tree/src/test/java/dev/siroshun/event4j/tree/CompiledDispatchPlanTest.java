@@ -0,0 +1,194 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.ExtendedSampleEvent;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.listener.ThrowingListener;
+import org.jetbrains.annotations.NotNullByDefault;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static dev.siroshun.event4j.tree.TestHelper.emptyConsumer;
+import static dev.siroshun.event4j.tree.TestHelper.newListener;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NotNullByDefault
+class CompiledDispatchPlanTest {
+
+    @Test
+    void testCallOrder() {
+        var list = newCompiledListenerList();
+        var called = new ArrayList<String>();
+
+        list.holder(SampleEvent.class).modifyListeners(listeners -> {
+            listeners.add(newListener(e -> called.add("root-high"), Priority.HIGH));
+            listeners.add(newListener(e -> called.add("root-low"), Priority.LOW));
+        });
+        list.holder(ExtendedSampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(ExtendedSampleEvent.class, e -> called.add("extended"), Priority.NORMAL)));
+
+        var plan = list.dispatchPlan(ExtendedSampleEvent.class);
+        assertInstanceOf(CompiledDispatchPlan.class, plan);
+        assertEquals(3, plan.post(new ExtendedSampleEvent(), ListenerExceptionHandler.continueHandler()));
+        assertEquals(List.of("extended", "root-low", "root-high"), called);
+    }
+
+    @Test
+    void testExceptionHandling() {
+        var list = newCompiledListenerList();
+        var listener = ThrowingListener.<SampleEvent>create();
+        var counter = new AtomicInteger(0);
+
+        list.holder(SampleEvent.class).modifyListeners(listeners -> {
+            listeners.add(newListener(listener, Priority.NORMAL));
+            listeners.add(newListener(e -> counter.incrementAndGet(), Priority.HIGH));
+        });
+
+        var plan = list.dispatchPlan(SampleEvent.class);
+        var event = new SampleEvent();
+
+        assertEquals(2, plan.post(event, ListenerExceptionHandler.continueHandler()));
+        assertEquals(1, counter.getAndSet(0)); // The second listener should be called
+
+        assertEquals(DispatchPlan.stopped(1), plan.post(event, (e, l, ex) -> {
+            assertSame(event, e);
+            assertSame(plan.listeners()[0], l);
+            assertSame(listener.originalException(), ex);
+            return ListenerExceptionHandler.Result.BREAK;
+        }));
+        assertEquals(0, counter.getAndSet(0)); // The second listener should NOT be called
+
+        try {
+            plan.post(event, (e, l, ex) -> ListenerExceptionHandler.Result.RETHROW);
+            Assertions.fail("Did not throw exception");
+        } catch (Throwable e) {
+            assertSame(listener.originalException(), e);
+            assertEquals(0, counter.getAndSet(0)); // The second listener should NOT be called
+        }
+    }
+
+    @Test
+    void testMultipleChunks() {
+        var list = newCompiledListenerList();
+        var called = new ArrayList<Integer>();
+        int count = CompiledInvokerTemplate.SIZE * 2 + 3;
+
+        list.holder(SampleEvent.class).modifyListeners(listeners -> {
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                listeners.add(newListener(e -> {
+                    called.add(index);
+                    if (index == CompiledInvokerTemplate.SIZE + 1) {
+                        throw new RuntimeException();
+                    }
+                }, Priority.NORMAL));
+            }
+        });
+
+        var plan = assertInstanceOf(CompiledDispatchPlan.class, list.dispatchPlan(SampleEvent.class));
+        assertEquals(count, plan.post(new SampleEvent(), ListenerExceptionHandler.continueHandler()));
+        assertEquals(IntStream.range(0, count).boxed().toList(), called);
+
+        called.clear();
+        assertEquals(DispatchPlan.stopped(CompiledInvokerTemplate.SIZE + 2), plan.post(new SampleEvent(), (e, l, ex) -> {
+            assertSame(plan.listeners()[CompiledInvokerTemplate.SIZE + 1], l);
+            return ListenerExceptionHandler.Result.BREAK;
+        }));
+        assertEquals(IntStream.rangeClosed(0, CompiledInvokerTemplate.SIZE + 1).boxed().toList(), called);
+    }
+
+    @Test
+    void testTooManyListeners() {
+        var list = newCompiledListenerList();
+        var counter = new AtomicInteger();
+        int count = 10_000;
+
+        list.holder(SampleEvent.class).modifyListeners(listeners -> {
+            for (int i = 0; i < count; i++) {
+                listeners.add(newListener(e -> counter.incrementAndGet(), Priority.NORMAL));
+            }
+        });
+
+        // Large plans should not be compiled, so that calling listeners does not need deep stacks
+        var plan = list.dispatchPlan(SampleEvent.class);
+        assertSame(DispatchPlan.class, plan.getClass());
+        assertEquals(count, plan.post(new SampleEvent(), (e, l, ex) -> {
+            throw new AssertionError(ex);
+        }));
+        assertEquals(count, counter.get());
+    }
+
+    @Test
+    void testGeneratedInvokers() {
+        var list = newCompiledListenerList();
+        list.holder(SampleEvent.class).modifyListeners(listeners -> {
+            listeners.add(newListener(emptyConsumer(), Priority.NORMAL));
+            listeners.add(newListener(emptyConsumer(), Priority.HIGH));
+        });
+
+        var first = CompiledInvokers.compile(list.dispatchPlan(SampleEvent.class).listeners());
+        var second = CompiledInvokers.compile(list.dispatchPlan(SampleEvent.class).listeners());
+        assertTrue(first.getClass().isHidden());
+        assertNotSame(first.getClass(), second.getClass()); // Each invoker should have its own class
+    }
+
+    @Test
+    void testReuseInvokers() {
+        var list = newCompiledListenerList();
+        list.holder(SampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(emptyConsumer(), Priority.NORMAL)));
+        var plan = assertInstanceOf(CompiledDispatchPlan.class, list.dispatchPlan(SampleEvent.class));
+
+        // Modifying the listeners of the other event class
+        var other = newListener(ExtendedSampleEvent.class, emptyConsumer(), Priority.NORMAL);
+        list.addListener(other);
+        var rebuilt = assertInstanceOf(CompiledDispatchPlan.class, list.dispatchPlan(SampleEvent.class));
+        assertNotSame(plan, rebuilt);
+        assertSame(plan.invoker(), rebuilt.invoker());
+
+        // Removing the listener of the other event class should not release the plan
+        list.removeListener(other);
+        assertSame(plan.invoker(), assertInstanceOf(CompiledDispatchPlan.class, list.dispatchPlan(SampleEvent.class)).invoker());
+
+        // Modifying the listeners of the same event class
+        list.holder(SampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(emptyConsumer(), Priority.HIGH)));
+        assertNotSame(plan.invoker(), assertInstanceOf(CompiledDispatchPlan.class, list.dispatchPlan(SampleEvent.class)).invoker());
+    }
+
+    private static ListenerList<String, SampleEvent, Priority> newCompiledListenerList() {
+        return new ListenerList<>(SampleEvent.class, Priority.COMPARATOR, CompiledDispatchPlan::create);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.listener.ThrowingListener;
+import org.jetbrains.annotations.NotNullByDefault;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.siroshun.event4j.tree.TestHelper.emptyConsumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NotNullByDefault
+class DispatchInterceptorTest {
+
+    @Test
+    void testOrder() {
+        var log = new ArrayList<String>();
+        var service = TestHelper.newServiceFactory()
+            .addDispatchInterceptor(new RecordingInterceptor("a", 1, log))
+            .addDispatchInterceptor(new RecordingInterceptor("b", 2, log))
+            .create();
+
+        service.subscriber().subscribe(SampleEvent.class, "first", event -> log.add("first"), Priority.LOW);
+        service.subscriber().subscribe(SampleEvent.class, "second", event -> log.add("second"));
+        service.caller().call(new SampleEvent());
+
+        assertEquals(List.of(
+            "a:beforeEvent", "b:beforeEvent",
+            "a:beforeListener first", "b:beforeListener first", "first", "b:afterListener first 2 null", "a:afterListener first 1 null",
+            "a:beforeListener second", "b:beforeListener second", "second", "b:afterListener second 2 null", "a:afterListener second 1 null",
+            "b:afterEvent 2 true", "a:afterEvent 1 true"
+        ), log);
+    }
+
+    @Test
+    void testException() {
+        var log = new ArrayList<String>();
+        var listener = ThrowingListener.<SampleEvent>create();
+        var service = TestHelper.newServiceFactory()
+            .addDispatchInterceptor(new RecordingInterceptor("a", 1, log))
+            .create((event, subscribedListener, exception) -> {
+                assertSame(listener.originalException(), exception);
+                log.add("handler");
+                return ListenerExceptionHandler.Result.BREAK;
+            });
+
+        service.subscriber().subscribe(SampleEvent.class, "throwing", listener, Priority.LOW);
+        service.subscriber().subscribe(SampleEvent.class, "skipped", event -> log.add("skipped"));
+        service.caller().call(new SampleEvent());
+
+        assertEquals(List.of(
+            "a:beforeEvent",
+            "a:beforeListener throwing", "a:afterListener throwing 1 RuntimeException", "handler",
+            "a:afterEvent 1 false"
+        ), log);
+    }
+
+    @Test
+    void testRethrow() {
+        var log = new ArrayList<String>();
+        var listener = ThrowingListener.<SampleEvent>create();
+        var service = TestHelper.newServiceFactory()
+            .addDispatchInterceptor(new RecordingInterceptor("a", 1, log))
+            .create((event, subscribedListener, exception) -> ListenerExceptionHandler.Result.RETHROW);
+
+        service.subscriber().subscribe(SampleEvent.class, "throwing", listener);
+
+        assertSame(listener.originalException(), assertThrows(RuntimeException.class, () -> service.caller().call(new SampleEvent())));
+        assertEquals(List.of("a:beforeEvent", "a:beforeListener throwing", "a:afterListener throwing 1 RuntimeException", "a:afterEvent 1 false"), log);
+    }
+
+    @Test
+    void testNoListeners() {
+        var log = new ArrayList<String>();
+        var service = TestHelper.newServiceFactory().addDispatchInterceptor(new RecordingInterceptor("a", 1, log)).create();
+
+        service.caller().call(new SampleEvent());
+        assertTrue(log.isEmpty());
+    }
+
+    @Test
+    void testWithListenerMetrics() {
+        var log = new ArrayList<String>();
+        var service = TestHelper.newServiceFactory()
+            .listenerMetrics(true)
+            .addDispatchInterceptor(new RecordingInterceptor("a", 1, log))
+            .create();
+
+        service.subscriber().subscribe(SampleEvent.class, "listener", emptyConsumer());
+        service.caller().call(new SampleEvent());
+
+        assertEquals(List.of("a:beforeEvent", "a:beforeListener listener", "a:afterListener listener 1 null", "a:afterEvent 1 true"), log);
+        assertEquals(1, service.listenerMetrics().getFirst().invocations());
+    }
+
+    @Test
+    void testPlanFactory() {
+        var list = new ListenerList<String, SampleEvent, Priority>(SampleEvent.class, Priority.COMPARATOR, DispatchOptions.DEFAULT.planFactory(Priority.COMPARATOR));
+        list.addListener(TestHelper.newListener(emptyConsumer(), Priority.NORMAL));
+        assertSame(DispatchPlan.class, list.dispatchPlan(SampleEvent.class).getClass()); // No interceptors, no extra work
+
+        var options = DispatchOptions.DEFAULT.withCompiledDispatch(true).withDispatchInterceptor(new DispatchInterceptor<String, SampleEvent, Priority>() {
+        });
+        list = new ListenerList<>(SampleEvent.class, Priority.COMPARATOR, options.planFactory(Priority.COMPARATOR));
+        list.addListener(TestHelper.newListener(emptyConsumer(), Priority.NORMAL));
+        assertSame(InterceptedDispatchPlan.class, list.dispatchPlan(SampleEvent.class).getClass());
+    }
+
+    private record RecordingInterceptor(String name, long token, List<String> log) implements DispatchInterceptor<String, SampleEvent, Priority> {
+
+        @Override
+        public long beforeEvent(SampleEvent event) {
+            this.log.add(this.name + ":beforeEvent");
+            return this.token;
+        }
+
+        @Override
+        public void afterEvent(SampleEvent event, long token, boolean completed) {
+            this.log.add(this.name + ":afterEvent " + token + " " + completed);
+        }
+
+        @Override
+        public long beforeListener(SampleEvent event, SubscribedListener<String, ? extends SampleEvent, Priority> listener) {
+            this.log.add(this.name + ":beforeListener " + listener.key());
+            return this.token;
+        }
+
+        @Override
+        public void afterListener(SampleEvent event, SubscribedListener<String, ? extends SampleEvent, Priority> listener, long token, @Nullable Throwable exception) {
+            this.log.add(this.name + ":afterListener " + listener.key() + " " + token + " " + (exception != null ? exception.getClass().getSimpleName() : null));
+        }
+    }
+}
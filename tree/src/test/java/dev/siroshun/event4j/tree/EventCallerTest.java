@@ -33,12 +33,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import static dev.siroshun.event4j.tree.TestHelper.newListener;
 import static dev.siroshun.event4j.tree.TestHelper.newListenerList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @NotNullByDefault
 class EventCallerTest {
@@ -58,6 +63,84 @@ class EventCallerTest {
         assertEquals(2, counter.getAndSet(0));
     }
 
+    @Test
+    void testLazyCall() {
+        var list = newListenerList();
+        var caller = new EventCallerImpl<>(list, ListenerExceptionHandler.continueHandler());
+        var created = new AtomicInteger(0);
+        var called = new ArrayList<SampleEvent>();
+
+        assertFalse(caller.hasListeners(SampleEvent.class));
+        caller.call(SampleEvent.class, () -> {
+            created.incrementAndGet();
+            return new SampleEvent();
+        });
+        assertEquals(0, created.get()); // The event should not be created without listeners
+
+        list.holder(ExtendedSampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(ExtendedSampleEvent.class, called::add, Priority.NORMAL)));
+        assertFalse(caller.hasListeners(SampleEvent.class));
+        assertTrue(caller.hasListeners(ExtendedSampleEvent.class));
+
+        var event = new ExtendedSampleEvent();
+        caller.call(ExtendedSampleEvent.class, () -> event);
+        assertEquals(List.of(event), called);
+
+        list.holder(SampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(called::add, Priority.NORMAL)));
+        called.clear();
+        caller.call(SampleEvent.class, () -> event); // The listeners of the actual class should be called
+        assertEquals(List.of(event, event), called);
+
+        assertThrows(NullPointerException.class, () -> caller.call(SampleEvent.class, () -> null));
+    }
+
+    @Test
+    void testForClass() {
+        var list = newListenerList();
+        var called = new ArrayList<SampleEvent>();
+        list.holder(SampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(called::add, Priority.NORMAL)));
+        var caller = new EventCallerImpl<>(list, ListenerExceptionHandler.continueHandler());
+        var bound = caller.forClass(SampleEvent.class);
+
+        var event = new SampleEvent();
+        bound.call(event);
+        assertEquals(List.of(event), called);
+        assertTrue(bound.hasListeners(SampleEvent.class));
+
+        // Listeners that are subscribed after binding should be called
+        list.holder(ExtendedSampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(ExtendedSampleEvent.class, called::add, Priority.NORMAL)));
+        called.clear();
+        var extended = new ExtendedSampleEvent();
+        bound.call(extended); // Subclass events should be called through the general path
+        assertEquals(List.of(extended, extended), called);
+
+        list.holder(SampleEvent.class).modifyListeners(List::clear);
+        called.clear();
+        bound.call(event);
+        assertTrue(called.isEmpty());
+        assertFalse(bound.hasListeners(SampleEvent.class));
+        assertTrue(bound.hasListeners(ExtendedSampleEvent.class));
+    }
+
+    @Test
+    void testCallAll() {
+        var list = newListenerList();
+        var called = new ArrayList<SampleEvent>();
+        list.holder(SampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(called::add, Priority.NORMAL)));
+        var caller = new EventCallerImpl<>(list, ListenerExceptionHandler.continueHandler());
+
+        var events = List.of(new SampleEvent(), new ExtendedSampleEvent(), new SampleEvent(), new SampleEvent2(), new ExtendedSampleEvent());
+        caller.callAll(events);
+        assertEquals(events, called); // The events should be called in the given order
+
+        called.clear();
+        caller.callAll(events.toArray(SampleEvent[]::new));
+        assertEquals(events, called);
+
+        called.clear();
+        caller.callAll(List.of());
+        assertTrue(called.isEmpty());
+    }
+
     @ParameterizedTest
     @MethodSource("orderTestCases")
     void testCallOrder(OrderTestCase testCase) {
@@ -0,0 +1,165 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.listener.SlowListenerHandler;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.ExtendedSampleEvent;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.listener.ThrowingListener;
+import org.jetbrains.annotations.NotNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static dev.siroshun.event4j.tree.TestHelper.emptyConsumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NotNullByDefault
+class EventClassStatisticsTest {
+
+    @Test
+    void testStatistics() {
+        var service = newService(true, ListenerExceptionHandler.continueHandler());
+        service.subscriber().subscribe(SampleEvent.class, "a", emptyConsumer());
+        service.subscriber().subscribe(SampleEvent.class, "b", emptyConsumer());
+        service.subscriber().subscribe(ExtendedSampleEvent.class, "c", emptyConsumer());
+
+        for (int i = 0; i < 3; i++) {
+            service.caller().call(new SampleEvent());
+        }
+        service.caller().callAll(List.of(new ExtendedSampleEvent(), new SampleEvent(), new ExtendedSampleEvent()));
+        service.caller().forClass(ExtendedSampleEvent.class).call(new ExtendedSampleEvent());
+
+        var statistics = byClass(service.eventClassStatistics());
+        assertEquals(2, statistics.size());
+        assertEquals(new EventClassStatistics<>(SampleEvent.class, 4, 8, 0), statistics.get(SampleEvent.class));
+        assertEquals(new EventClassStatistics<>(ExtendedSampleEvent.class, 3, 9, 0), statistics.get(ExtendedSampleEvent.class));
+        assertEquals(3.0, statistics.get(ExtendedSampleEvent.class).averageFanOut());
+    }
+
+    @Test
+    void testNoListeners() {
+        var service = newService(true, ListenerExceptionHandler.continueHandler());
+        var created = new ArrayList<SampleEvent>();
+
+        service.caller().call(new SampleEvent());
+        service.caller().call(SampleEvent.class, () -> {
+            var event = new SampleEvent();
+            created.add(event);
+            return event;
+        });
+
+        assertTrue(created.isEmpty());
+        assertEquals(List.of(new EventClassStatistics<>(SampleEvent.class, 2, 0, 0)), service.eventClassStatistics());
+        assertEquals(0.0, service.eventClassStatistics().getFirst().averageFanOut());
+    }
+
+    @Test
+    void testBreaks() {
+        var service = newService(true, (event, listener, exception) -> ListenerExceptionHandler.Result.BREAK);
+        service.subscriber().subscribe(SampleEvent.class, "throwing", ThrowingListener.create(), Priority.LOW);
+        service.subscriber().subscribe(SampleEvent.class, "listener", emptyConsumer());
+
+        service.caller().call(new SampleEvent());
+        service.caller().call(new SampleEvent());
+
+        // The listener after the throwing one is not reached
+        assertEquals(List.of(new EventClassStatistics<>(SampleEvent.class, 2, 2, 2)), service.eventClassStatistics());
+    }
+
+    @Test
+    void testRethrow() {
+        var service = newService(true, (event, listener, exception) -> ListenerExceptionHandler.Result.RETHROW);
+        var throwing = ThrowingListener.<SampleEvent>create();
+        service.subscriber().subscribe(SampleEvent.class, "listener", emptyConsumer(), Priority.LOW);
+        service.subscriber().subscribe(SampleEvent.class, "throwing", throwing);
+        service.subscriber().subscribe(SampleEvent.class, "unreached", emptyConsumer(), Priority.HIGH);
+
+        var thrown = assertThrows(Throwable.class, () -> service.caller().call(new SampleEvent()));
+        assertSame(throwing.originalException(), thrown);
+
+        // The rethrown dispatch should be counted as a stopped one
+        assertEquals(List.of(new EventClassStatistics<>(SampleEvent.class, 1, 2, 1)), service.eventClassStatistics());
+    }
+
+    @Test
+    void testQuarantinedListeners() {
+        var service = TestHelper.newServiceFactory()
+            .eventClassStatistics(true)
+            .slowListenerWatchdog(key -> key.equals("slow") ? Duration.ofMillis(1) : null, SlowListenerHandler.quarantineAfter(1))
+            .create();
+        service.subscriber().subscribe(SampleEvent.class, "slow", event -> LockSupport.parkNanos(Duration.ofMillis(2).toNanos()));
+        service.subscriber().subscribe(SampleEvent.class, "listener", emptyConsumer());
+
+        for (int i = 0; i < 3; i++) {
+            service.caller().call(new SampleEvent());
+        }
+
+        // The quarantined listener is reached only by the first event
+        assertEquals(List.of(new EventClassStatistics<>(SampleEvent.class, 3, 4, 0)), service.eventClassStatistics());
+    }
+
+    @Test
+    void testReset() {
+        var service = newService(true, ListenerExceptionHandler.continueHandler());
+        service.subscriber().subscribe(SampleEvent.class, "listener", emptyConsumer());
+
+        service.caller().call(new SampleEvent());
+        assertEquals(List.of(new EventClassStatistics<>(SampleEvent.class, 1, 1, 0)), service.resetEventClassStatistics());
+        assertEquals(List.of(new EventClassStatistics<>(SampleEvent.class, 0, 0, 0)), service.eventClassStatistics());
+
+        service.caller().call(new SampleEvent());
+        assertEquals(List.of(new EventClassStatistics<>(SampleEvent.class, 1, 1, 0)), service.eventClassStatistics());
+    }
+
+    @Test
+    void testDisabled() {
+        var service = newService(false, ListenerExceptionHandler.continueHandler());
+        service.subscriber().subscribe(SampleEvent.class, "listener", emptyConsumer());
+        service.caller().call(new SampleEvent());
+
+        assertTrue(service.eventClassStatistics().isEmpty());
+        assertTrue(service.resetEventClassStatistics().isEmpty());
+    }
+
+    private static Map<Class<?>, EventClassStatistics<SampleEvent>> byClass(List<EventClassStatistics<SampleEvent>> statistics) {
+        return statistics.stream().collect(Collectors.toMap(EventClassStatistics::eventClass, s -> s));
+    }
+
+    private static TreeEventService<String, SampleEvent, Priority> newService(boolean eventClassStatistics,
+                                                                              ListenerExceptionHandler<String, SampleEvent, Priority> exceptionHandler) {
+        return TestHelper.newServiceFactory().eventClassStatistics(eventClassStatistics).create(exceptionHandler);
+    }
+}
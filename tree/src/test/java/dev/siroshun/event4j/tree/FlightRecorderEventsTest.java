@@ -0,0 +1,125 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.ExtendedSampleEvent;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.listener.ThrowingListener;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.jetbrains.annotations.NotNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.siroshun.event4j.tree.TestHelper.newListener;
+import static dev.siroshun.event4j.tree.TestHelper.newListenerList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@NotNullByDefault
+class FlightRecorderEventsTest {
+
+    @Test
+    void testEvents() throws IOException {
+        var list = newListenerList();
+        var caller = new EventCallerImpl<>(list, ListenerExceptionHandler.continueHandler());
+        var counter = new AtomicInteger();
+
+        List<RecordedEvent> events;
+        try (var recording = new Recording()) {
+            for (var name : List.of("Dispatch", "ListenerInvocation", "ListenerChange", "DispatchPlanRebuild")) {
+                recording.enable("dev.siroshun.event4j." + name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            list.addListener(newListener(e -> counter.incrementAndGet(), Priority.NORMAL));
+            list.addListener(newListener(ExtendedSampleEvent.class, e -> counter.incrementAndGet(), Priority.HIGH));
+            caller.call(new ExtendedSampleEvent());
+
+            recording.stop();
+            events = read(recording);
+        }
+
+        assertEquals(2, counter.get());
+
+        var dispatch = single(events, "Dispatch");
+        assertEquals(ExtendedSampleEvent.class.getName(), dispatch.getClass("eventClass").getName());
+        assertEquals(2, dispatch.getInt("listenerCount"));
+
+        var invocations = filter(events, "ListenerInvocation");
+        assertEquals(2, invocations.size());
+        assertEquals(Priority.HIGH.toString(), invocations.getFirst().getString("order")); // The listener of the subclass is called first
+
+        var changes = filter(events, "ListenerChange");
+        assertEquals(2, changes.size());
+        assertEquals(0, changes.getFirst().getInt("previousSize"));
+        assertEquals(1, changes.getFirst().getInt("size"));
+
+        assertEquals(2, single(events, "DispatchPlanRebuild").getInt("listenerCount"));
+    }
+
+    @Test
+    void testExceptionHandling() {
+        var list = newListenerList();
+        var counter = new AtomicInteger();
+        list.addListener(newListener(ThrowingListener.create(), Priority.NORMAL));
+        list.addListener(newListener(e -> counter.incrementAndGet(), Priority.HIGH));
+        var plan = list.dispatchPlan(SampleEvent.class);
+
+        assertEquals(2, plan.postRecordingListeners(new SampleEvent(), ListenerExceptionHandler.continueHandler()));
+        assertEquals(1, counter.getAndSet(0));
+
+        assertEquals(DispatchPlan.stopped(1), plan.postRecordingListeners(new SampleEvent(), (e, l, ex) -> ListenerExceptionHandler.Result.BREAK));
+        assertEquals(0, counter.get());
+    }
+
+    private static List<RecordedEvent> read(Recording recording) throws IOException {
+        var file = Files.createTempFile("event4j", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals("dev.siroshun.event4j." + name)).toList();
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        var filtered = filter(events, name);
+        assertEquals(1, filtered.size());
+        return filtered.getFirst();
+    }
+}
@@ -32,20 +32,35 @@ import dev.siroshun.event4j.test.helper.event.SampleEvent;
 import dev.siroshun.event4j.test.helper.listener.ThrowingListener;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
+import static dev.siroshun.event4j.tree.TestHelper.emptyConsumer;
+import static dev.siroshun.event4j.tree.TestHelper.newIntOrderListenerList;
 import static dev.siroshun.event4j.tree.TestHelper.newListener;
 import static dev.siroshun.event4j.tree.TestHelper.newListenerList;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ListenerListTest {
@@ -60,24 +75,40 @@ class ListenerListTest {
     }
 
     @Test
-    void testParentHolder() {
+    void testHolderIfPresent() {
         var list = newListenerList();
+        assertNull(list.holderIfPresent(ExtendedSampleEvent.class));
+
         var created = list.holder(ExtendedSampleEvent.class);
-        var parent = list.holder(SampleEvent.class);
-        assertSame(created.parent(), parent);
-        assertNull(parent.parent()); // root holder
+        assertSame(created, list.holderIfPresent(ExtendedSampleEvent.class));
+        assertNull(list.holderIfPresent(SampleEvent.class)); // The holder of the parent class should not be created
+        assertEquals(List.of(created), new ArrayList<>(list.holders()));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    void testClassState() {
+        var list = newListenerList();
+        var state = list.classState(ExtendedSampleEvent.class);
+        assertSame(ExtendedSampleEvent.class, state.eventClass());
+        assertSame(state, list.classState(ExtendedSampleEvent.class));
+        assertNotSame(state, newListenerList().classState(ExtendedSampleEvent.class)); // The state should be per ListenerList
+        assertThrows(ClassCastException.class, () -> list.classState(Object.class));
 
-        var holders = new ArrayList<>(list.holders());
-        assertTrue(holders.remove(created));
-        assertTrue(holders.remove(parent));
-        assertTrue(holders.isEmpty());
+        // Dispatching should not create holders
+        assertEquals(0, list.dispatchPlan(state).listeners().length);
+        assertTrue(list.holders().isEmpty());
+
+        // Calling an event that is not a subclass of the root event class
+        var caller = new EventCallerImpl(list, ListenerExceptionHandler.continueHandler());
+        assertThrows(ClassCastException.class, () -> caller.call(new Object()));
     }
 
     @Test
     void testHolder() {
         var holder = newListenerList().holder(SampleEvent.class);
         assertTrue(holder.listeners().isEmpty());
-        assertNull(holder.sortedListenersArray);
+        assertNull(holder.sortedListenersArray());
 
         var count = new AtomicInteger(0);
         var first = newListener(e -> count.incrementAndGet(), Priority.LOW);
@@ -88,23 +119,445 @@ class ListenerListTest {
             listeners.add(first);
         });
         assertEquals(List.of(first, second), holder.listeners());
-        assertArrayEquals(new SubscribedListener[]{first, second}, holder.sortedListenersArray);
+        assertArrayEquals(new SubscribedListener[]{first, second}, holder.sortedListenersArray());
         assertTrue(holder.postEvent(new SampleEvent(), ListenerExceptionHandler.continueHandler()));
         assertEquals(2, count.getAndSet(0));
 
         holder.modifyListeners(listeners -> listeners.remove(second));
         assertEquals(List.of(first), holder.listeners());
-        assertArrayEquals(new SubscribedListener[]{first}, holder.sortedListenersArray);
+        assertArrayEquals(new SubscribedListener[]{first}, holder.sortedListenersArray());
         assertTrue(holder.postEvent(new SampleEvent(), ListenerExceptionHandler.continueHandler()));
         assertEquals(1, count.getAndSet(0));
 
         holder.modifyListeners(listeners -> listeners.remove(first));
         assertTrue(holder.listeners().isEmpty());
-        assertNull(holder.sortedListenersArray);
+        assertNull(holder.sortedListenersArray());
         assertTrue(holder.postEvent(new SampleEvent(), ListenerExceptionHandler.continueHandler()));
         assertEquals(0, count.getAndSet(0));
     }
 
+    @ParameterizedTest
+    @MethodSource("listenerLists")
+    void testSortedInsertion(ListenerList<String, SampleEvent, Priority> list) {
+        var low1 = newListener(emptyConsumer(), Priority.LOW);
+        var normal1 = newListener(emptyConsumer(), Priority.NORMAL);
+        var normal2 = newListener(emptyConsumer(), Priority.NORMAL);
+        var high1 = newListener(emptyConsumer(), Priority.HIGH);
+
+        list.addListener(normal1);
+        list.addListener(high1);
+        list.addListener(low1);
+        list.addListener(normal2);
+        var holder = Objects.requireNonNull(list.holderIfPresent(SampleEvent.class));
+        assertEquals(List.of(low1, normal1, normal2, high1), holder.listeners()); // The listeners of the same order should be kept in the added order
+
+        // Bulk listeners are merged after the existing listeners of the same order
+        var low2 = newListener(emptyConsumer(), Priority.LOW);
+        var normal3 = newListener(emptyConsumer(), Priority.NORMAL);
+        var normal4 = newListener(emptyConsumer(), Priority.NORMAL);
+        var high2 = newListener(emptyConsumer(), Priority.HIGH);
+        addListeners(list, List.of(high2, normal3, low2, normal4));
+        assertEquals(List.of(low1, low2, normal1, normal2, normal3, normal4, high1, high2), holder.listeners());
+
+        assertEquals(List.of(normal2), holder.remove(normal2));
+        assertEquals(List.of(low1, high2), holder.removeIf(List.of(low1, high2)::contains));
+        assertEquals(List.of(low2, normal1, normal3, normal4, high1), holder.listeners());
+
+        // Removing nothing should not rebuild the dispatch plan
+        var plan = holder.dispatchPlan();
+        assertTrue(holder.remove(normal2).isEmpty());
+        assertTrue(holder.removeIf(listener -> false).isEmpty());
+        assertSame(plan, holder.dispatchPlan());
+
+        // The result should be the same as the full sort
+        var expected = new ArrayList<>(holder.listeners());
+        var normal5 = newListener(emptyConsumer(), Priority.NORMAL);
+        expected.add(normal5);
+        holder.modifyListeners(listeners -> listeners.add(normal5));
+        assertEquals(expected.stream().sorted(Comparator.comparing(SubscribedListener::order, Priority.COMPARATOR)).toList(), holder.listeners());
+    }
+
+    private static Stream<ListenerList<String, SampleEvent, Priority>> listenerLists() {
+        return Stream.of(newListenerList(), newIntOrderListenerList());
+    }
+
+    @Test
+    void testPriorityOrderKey() {
+        var factory = TreeEventService.factory().eventClass(SampleEvent.class);
+        assertNotNull(((TreeEventServiceImpl.FactoryImpl<?, ?, ?>) factory.defaultOrder(Priority.NORMAL)).orderKey());
+        assertNotNull(((TreeEventServiceImpl.FactoryImpl<?, ?, ?>) factory.orderComparator(Priority.COMPARATOR, Priority.NORMAL)).orderKey());
+        assertNull(((TreeEventServiceImpl.FactoryImpl<?, ?, ?>) factory.orderComparator(Priority.COMPARATOR.reversed(), Priority.NORMAL)).orderKey());
+        assertNull(((TreeEventServiceImpl.FactoryImpl<?, ?, ?>) factory.defaultOrder("default")).orderKey());
+
+        var service = factory.intOrder(Priority::value, Priority.NORMAL).create();
+        var low = service.subscriber().subscribe(SampleEvent.class, "low", emptyConsumer(), Priority.LOW);
+        var normal = service.subscriber().subscribe(SampleEvent.class, "normal", emptyConsumer());
+        var high = service.subscriber().subscribe(SampleEvent.class, "high", emptyConsumer(), Priority.HIGH);
+        assertEquals(List.of(low, normal, high), service.subscriber().listenersFor(SampleEvent.class));
+    }
+
+    @Test
+    void testDispatchPlan() {
+        var list = newListenerList();
+        var child = list.holder(ExtendedSampleEvent.class);
+        var parent = list.holder(SampleEvent.class);
+        assertEquals(0, child.dispatchPlan().listeners().length);
+
+        var childListener = newListener(ExtendedSampleEvent.class, emptyConsumer(), Priority.HIGH);
+        var parentListener = newListener(emptyConsumer(), Priority.LOW);
+
+        child.modifyListeners(listeners -> listeners.add(childListener));
+        var plan = child.dispatchPlan();
+        assertArrayEquals(new SubscribedListener[]{childListener}, plan.listeners());
+        assertSame(plan, child.dispatchPlan()); // The plan should be reused while nothing is modified
+
+        parent.modifyListeners(listeners -> listeners.add(parentListener));
+        assertArrayEquals(new SubscribedListener[]{childListener, parentListener}, child.dispatchPlan().listeners()); // C > B > A, regardless of the order
+        assertArrayEquals(new SubscribedListener[]{parentListener}, parent.dispatchPlan().listeners());
+
+        parent.modifyListeners(listeners -> listeners.remove(parentListener));
+        assertArrayEquals(new SubscribedListener[]{childListener}, child.dispatchPlan().listeners());
+    }
+
+    @Test
+    void testEmptyDispatchPlan() {
+        var list = newListenerList();
+        list.holder(SampleEvent2.class).modifyListeners(listeners -> listeners.add(newListener(SampleEvent2.class, emptyConsumer(), Priority.NORMAL)));
+
+        var emptyPlan = list.dispatchPlan(ExtendedSampleEvent.class);
+        assertFalse(emptyPlan.hasListeners());
+
+        // Modifying listeners of the holder that already has listeners should not rebuild the empty plan
+        list.holder(SampleEvent2.class).modifyListeners(listeners -> listeners.add(newListener(SampleEvent2.class, emptyConsumer(), Priority.HIGH)));
+        list.holder(SampleEvent2.class).modifyListeners(listeners -> listeners.removeLast());
+        assertSame(emptyPlan, list.dispatchPlan(ExtendedSampleEvent.class));
+
+        // Adding the first listener to the parent class should rebuild the plan
+        var listener = newListener(emptyConsumer(), Priority.NORMAL);
+        list.holder(SampleEvent.class).modifyListeners(listeners -> listeners.add(listener));
+        var plan = list.dispatchPlan(ExtendedSampleEvent.class);
+        assertTrue(plan.hasListeners());
+        assertArrayEquals(new SubscribedListener[]{listener}, plan.listeners());
+
+        // Removing the last listener should make the plan empty again
+        list.holder(SampleEvent.class).modifyListeners(listeners -> listeners.remove(listener));
+        assertFalse(list.dispatchPlan(ExtendedSampleEvent.class).hasListeners());
+    }
+
+    @Test
+    void testEmptyHolderRemoval() {
+        var list = newListenerList();
+        var listener = newListener(emptyConsumer(), Priority.NORMAL);
+
+        list.addListener(listener);
+        var holder = list.holderIfPresent(SampleEvent.class);
+        assertNotNull(holder);
+
+        // The holder should be removed when it becomes empty
+        assertTrue(holder.modifyListeners(listeners -> listeners.remove(listener)));
+        assertNull(list.holderIfPresent(SampleEvent.class));
+        assertTrue(list.holders().isEmpty());
+
+        // The removed holder cannot be modified anymore
+        assertFalse(holder.modifyListeners(listeners -> listeners.add(listener)));
+        assertTrue(holder.listeners().isEmpty());
+
+        // Modifying through the list should create a new holder
+        list.addListener(listener);
+        var newHolder = list.holderIfPresent(SampleEvent.class);
+        assertNotNull(newHolder);
+        assertNotSame(holder, newHolder);
+        assertEquals(List.of(listener), newHolder.listeners());
+        assertArrayEquals(new SubscribedListener[]{listener}, list.dispatchPlan(SampleEvent.class).listeners());
+    }
+
+    @Test
+    void testConcurrentModification() throws InterruptedException {
+        var list = newListenerList();
+        int threadCount = 4;
+        int listenerCount = 1000;
+        var threads = new ArrayList<Thread>();
+        var errors = new ArrayList<Throwable>();
+
+        for (int i = 0; i < threadCount; i++) {
+            var key = "thread-" + i;
+            threads.add(Thread.ofPlatform().unstarted(() -> {
+                var listeners = new ArrayList<SubscribedListener<String, SampleEvent, Priority>>();
+                for (int j = 0; j < listenerCount; j++) {
+                    var listener = new SubscribedListenerImpl<>(SampleEvent.class, key, emptyConsumer(), Priority.value(j % 10));
+                    list.addListener(listener);
+                    listeners.add(listener);
+                    list.dispatchPlan(ExtendedSampleEvent.class).post(new ExtendedSampleEvent(), ListenerExceptionHandler.continueHandler());
+                }
+                for (int j = 0; j < listenerCount; j += 2) {
+                    list.removeListener(listeners.get(j));
+                }
+            }));
+        }
+
+        threads.forEach(thread -> thread.setUncaughtExceptionHandler((t, e) -> {
+            synchronized (errors) {
+                errors.add(e);
+            }
+        }));
+        threads.forEach(Thread::start);
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(errors.isEmpty(), errors::toString);
+        var listeners = Objects.requireNonNull(list.holderIfPresent(SampleEvent.class)).listeners();
+        assertEquals(threadCount * listenerCount / 2, listeners.size());
+        assertEquals(listeners.stream().sorted(Comparator.comparing(SubscribedListener::order, Priority.COMPARATOR)).toList(), listeners);
+        assertEquals(listeners.size(), list.dispatchPlan(ExtendedSampleEvent.class).listeners().length);
+
+        for (int i = 0; i < threadCount; i++) {
+            list.removeListenersByKey("thread-" + i);
+        }
+        assertNull(list.holderIfPresent(SampleEvent.class));
+    }
+
+    @Test
+    void testConcurrentKeyIndex() throws InterruptedException {
+        var list = newListenerList();
+        var subscriber = new ListenerSubscriberImpl<>(list, Priority.NORMAL);
+        var keys = List.of("key-0", "key-1", "key-2");
+        var classes = List.of(SampleEvent.class, ExtendedSampleEvent.class);
+        var running = new AtomicBoolean(true);
+        var mutators = new ArrayList<Thread>();
+        var dispatchers = new ArrayList<Thread>();
+        var errors = new ArrayList<Throwable>();
+
+        for (int i = 0; i < 4; i++) {
+            mutators.add(Thread.ofPlatform().unstarted(() -> {
+                var random = ThreadLocalRandom.current();
+                var subscribed = new ArrayList<SubscribedListener<String, ? extends SampleEvent, Priority>>();
+
+                for (int j = 0; j < 3000; j++) {
+                    var key = keys.get(random.nextInt(keys.size()));
+                    var eventClass = classes.get(random.nextInt(classes.size()));
+                    int id = j;
+
+                    switch (random.nextInt(5)) {
+                        case 0, 1 -> subscribed.add(subscriber.subscribe(eventClass, key, event -> Objects.requireNonNull(event, String.valueOf(id))));
+                        case 2 -> {
+                            if (!subscribed.isEmpty()) {
+                                subscriber.unsubscribe(subscribed.remove(random.nextInt(subscribed.size())));
+                            }
+                        }
+                        case 3 -> {
+                            var changeSet = subscriber.changeSet().add(eventClass, key, event -> Objects.requireNonNull(event, String.valueOf(id)));
+                            if (!subscribed.isEmpty()) {
+                                changeSet.remove(subscribed.remove(random.nextInt(subscribed.size())));
+                            }
+                            subscribed.addAll(changeSet.apply());
+                        }
+                        default -> subscriber.unsubscribeByKey(key);
+                    }
+                }
+            }));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            dispatchers.add(Thread.ofPlatform().unstarted(() -> {
+                while (running.get()) {
+                    list.dispatchPlan(ExtendedSampleEvent.class).post(new ExtendedSampleEvent(), ListenerExceptionHandler.continueHandler());
+                }
+            }));
+        }
+
+        Thread.UncaughtExceptionHandler handler = (t, e) -> {
+            synchronized (errors) {
+                errors.add(e);
+            }
+        };
+        mutators.forEach(thread -> thread.setUncaughtExceptionHandler(handler));
+        dispatchers.forEach(thread -> thread.setUncaughtExceptionHandler(handler));
+        dispatchers.forEach(Thread::start);
+        mutators.forEach(Thread::start);
+
+        for (var thread : mutators) {
+            thread.join();
+        }
+        running.set(false);
+        for (var thread : dispatchers) {
+            thread.join();
+        }
+
+        assertTrue(errors.isEmpty(), errors::toString);
+
+        // The key index should exactly match the subscribed listeners
+        var expected = new HashMap<String, Set<Class<?>>>();
+        for (var listener : subscriber.allListeners()) {
+            expected.computeIfAbsent(listener.key(), ignored -> new HashSet<>()).add(listener.eventClass());
+        }
+        for (var key : keys) {
+            assertEquals(expected.getOrDefault(key, Set.of()), Set.copyOf(list.indexedClasses(key)), key);
+        }
+
+        keys.forEach(subscriber::unsubscribeByKey);
+        assertTrue(subscriber.allListeners().isEmpty());
+    }
+
+    @Test
+    void testApplyChanges() throws InterruptedException {
+        var list = newListenerList();
+        var parentListener = newListener(emptyConsumer(), Priority.NORMAL);
+        var childListener = newListener(ExtendedSampleEvent.class, emptyConsumer(), Priority.NORMAL);
+        var running = new AtomicBoolean(true);
+        var partialPlans = new AtomicInteger();
+
+        var dispatcher = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                int length = list.dispatchPlan(ExtendedSampleEvent.class).listeners().length;
+                if (length == 1) {
+                    partialPlans.incrementAndGet();
+                }
+            }
+        });
+
+        for (int i = 0; i < 10000; i++) {
+            addListeners(list, List.of(parentListener, childListener));
+            var changes = new ListenerChanges<String, SampleEvent, Priority>();
+            changes.remove(parentListener);
+            changes.remove(childListener);
+            list.applyChanges(changes);
+        }
+
+        running.set(false);
+        dispatcher.join();
+        assertEquals(0, partialPlans.get()); // The plan should contain either none or all of the changes
+    }
+
+    @Test
+    void testWaitForLongTransaction() throws InterruptedException {
+        var blocking = new AtomicBoolean();
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Comparator<Priority> comparator = (first, second) -> {
+            if (blocking.get() && Thread.currentThread().getName().equals("applier")) {
+                entered.countDown();
+                await(release);
+            }
+            return Priority.COMPARATOR.compare(first, second);
+        };
+        var list = new ListenerList<String, SampleEvent, Priority>(SampleEvent.class, comparator);
+        list.addListener(newListener(emptyConsumer(), Priority.NORMAL));
+        blocking.set(true);
+
+        var changes = new ListenerChanges<String, SampleEvent, Priority>();
+        changes.add(newListener(emptyConsumer(), Priority.HIGH));
+        var applier = Thread.ofPlatform().name("applier").start(() -> list.applyChanges(changes));
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+        var length = new AtomicInteger();
+        var dispatcher = Thread.ofPlatform().start(() -> length.set(list.dispatchPlan(SampleEvent.class).listeners().length));
+
+        // The dispatcher should block instead of spinning while the transaction is open
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (dispatcher.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, dispatcher.getState());
+
+        release.countDown();
+        applier.join();
+        dispatcher.join();
+        assertEquals(2, length.get()); // The plan should be built after the transaction
+    }
+
+    @Test
+    void testApplyChangesOnce() {
+        var list = newListenerList();
+        var listener = newListener(emptyConsumer(), Priority.NORMAL);
+        list.addListener(listener);
+
+        var holder = Objects.requireNonNull(list.holderIfPresent(SampleEvent.class));
+        var plan = list.dispatchPlan(SampleEvent.class);
+
+        // Removals and additions should be applied to the holder as a single update
+        var changes = new ListenerChanges<String, SampleEvent, Priority>();
+        var added = List.of(newListener(emptyConsumer(), Priority.HIGH), newListener(emptyConsumer(), Priority.LOW));
+        added.forEach(changes::add);
+        changes.removeByKey(Priority.NORMAL.toString());
+        list.applyChanges(changes);
+
+        assertSame(holder, list.holderIfPresent(SampleEvent.class)); // The holder should not become empty in the middle
+        assertEquals(List.of(added.get(1), added.get(0)), holder.listeners());
+        assertNotSame(plan, list.dispatchPlan(SampleEvent.class));
+        assertEquals(List.of(SampleEvent.class), list.indexedClasses(Priority.HIGH.toString()));
+        assertTrue(list.indexedClasses(Priority.NORMAL.toString()).isEmpty());
+    }
+
+    @Test
+    void testKeyIndex() {
+        var list = newListenerList();
+        var listener1 = new SubscribedListenerImpl<>(SampleEvent.class, "key-1", emptyConsumer(), Priority.NORMAL);
+        var listener2 = new SubscribedListenerImpl<>(ExtendedSampleEvent.class, "key-1", emptyConsumer(), Priority.NORMAL);
+        var listener3 = new SubscribedListenerImpl<>(SampleEvent2.class, "key-2", emptyConsumer(), Priority.NORMAL);
+
+        list.addListener(listener1);
+        addListeners(list, List.of(listener2));
+        list.addListener(listener3);
+        assertEquals(Set.of(SampleEvent.class, ExtendedSampleEvent.class), Set.copyOf(list.indexedClasses("key-1")));
+        assertEquals(List.of(SampleEvent2.class), list.indexedClasses("key-2"));
+
+        // The holders that do not have listeners of the key should not be modified
+        var holder = Objects.requireNonNull(list.holderIfPresent(SampleEvent2.class));
+        var array = holder.sortedListenersArray();
+        list.removeListenersByKey("key-1");
+        assertSame(array, holder.sortedListenersArray());
+        assertNull(list.holderIfPresent(SampleEvent.class));
+        assertNull(list.holderIfPresent(ExtendedSampleEvent.class));
+        assertTrue(list.indexedClasses("key-1").isEmpty());
+
+        // The index should be pruned when listeners are removed in other ways
+        list.removeListener(listener3);
+        assertTrue(list.indexedClasses("key-2").isEmpty());
+
+        list.addListener(listener1);
+        list.removeListenersIf(listener -> true);
+        assertTrue(list.indexedClasses("key-1").isEmpty());
+
+        list.addListener(listener2);
+        var changes = new ListenerChanges<String, SampleEvent, Priority>();
+        changes.remove(listener2);
+        list.applyChanges(changes);
+        assertTrue(list.indexedClasses("key-1").isEmpty());
+    }
+
+    @Test
+    void testReleaseDispatchPlans() {
+        var list = newListenerList();
+        var first = newListener(emptyConsumer(), Priority.NORMAL);
+        var second = newListener(emptyConsumer(), Priority.HIGH);
+        addListeners(list, List.of(first, second));
+
+        var state = list.classState(ExtendedSampleEvent.class);
+        assertTrue(list.dispatchPlan(state).hasListeners());
+
+        // Adding listeners should keep the stale plan until the next dispatch
+        list.addListener(newListener(emptyConsumer(), Priority.LOW));
+        assertNotNull(state.dispatchPlan);
+
+        // Removing listeners should release the plans, so that the removed listeners are not kept reachable
+        list.dispatchPlan(state);
+        list.removeListener(second);
+        assertNull(state.dispatchPlan);
+        assertEquals(2, list.dispatchPlan(state).listeners().length);
+        assertNotNull(state.dispatchPlan);
+
+        // Removing listeners of a subclass should keep the plans of its parents
+        var parentState = list.classState(SampleEvent.class);
+        var child = newListener(ExtendedSampleEvent.class, emptyConsumer(), Priority.NORMAL);
+        list.addListener(child);
+        var parentPlan = list.dispatchPlan(parentState);
+        list.dispatchPlan(state);
+        list.removeListener(child);
+        assertNull(state.dispatchPlan);
+        assertSame(parentPlan, parentState.dispatchPlan);
+    }
+
     @Test
     void testHolderExceptionHandling() {
         var holder = newListenerList().holder(SampleEvent.class);
@@ -120,7 +573,7 @@ class ListenerListTest {
 
         holder.postEvent(event, (e, l, ex) -> {
             assertSame(event, e);
-            assertSame(Objects.requireNonNull(holder.sortedListenersArray)[0], l);
+            assertSame(Objects.requireNonNull(holder.sortedListenersArray())[0], l);
             assertSame(listener.originalException(), ex);
             return ListenerExceptionHandler.Result.BREAK;
         });
@@ -140,4 +593,21 @@ class ListenerListTest {
             assertEquals(0, counter.getAndSet(0)); // The second listener should NOT be called
         }
     }
+
+    private static class SampleEvent2 extends SampleEvent {
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void addListeners(ListenerList<String, SampleEvent, Priority> list, List<? extends SubscribedListener<String, ? extends SampleEvent, Priority>> listeners) {
+        var changes = new ListenerChanges<String, SampleEvent, Priority>();
+        listeners.forEach(changes::add);
+        list.applyChanges(changes);
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.SubscribedListener;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.ExtendedSampleEvent;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.listener.ThrowingListener;
+import org.jetbrains.annotations.NotNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.locks.LockSupport;
+
+import static dev.siroshun.event4j.tree.TestHelper.emptyConsumer;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NotNullByDefault
+class ListenerMetricsTest {
+
+    @Test
+    void testMetrics() {
+        var service = newService(true);
+        var subscriber = service.subscriber();
+        var normal = subscriber.subscribe(SampleEvent.class, "normal", emptyConsumer());
+        var throwing = subscriber.subscribe(SampleEvent.class, "throwing", ThrowingListener.create(), Priority.HIGH);
+        var slow = subscriber.subscribe(ExtendedSampleEvent.class, "slow", event -> LockSupport.parkNanos(1_000_000));
+
+        for (int i = 0; i < 10; i++) {
+            service.caller().call(new SampleEvent());
+        }
+        service.caller().call(new ExtendedSampleEvent());
+
+        var metrics = service.listenerMetrics();
+        assertEquals(3, metrics.size());
+
+        for (var snapshot : metrics) {
+            assertTrue(snapshot.p50Nanos() <= snapshot.p99Nanos());
+            assertTrue(snapshot.p99Nanos() <= snapshot.maxNanos());
+            assertTrue(snapshot.maxNanos() <= snapshot.totalNanos());
+
+            if (snapshot.listener() == normal) {
+                assertEquals(11, snapshot.invocations());
+                assertEquals(0, snapshot.exceptions());
+            } else if (snapshot.listener() == throwing) {
+                assertEquals(11, snapshot.invocations());
+                assertEquals(11, snapshot.exceptions());
+            } else {
+                assertSame(slow, snapshot.listener());
+                assertEquals(1, snapshot.invocations());
+                assertTrue(1_000_000 <= snapshot.maxNanos());
+            }
+        }
+
+        subscriber.unsubscribe(throwing);
+        assertEquals(2, service.listenerMetrics().size()); // Unsubscribed listeners should be forgotten
+    }
+
+    @Test
+    void testNotCalled() {
+        var service = newService(true);
+        service.subscriber().subscribe(SampleEvent.class, "listener", emptyConsumer());
+
+        var snapshot = service.listenerMetrics().getFirst();
+        assertEquals(0, snapshot.invocations());
+        assertEquals(0, snapshot.maxNanos());
+    }
+
+    @Test
+    void testDisabled() {
+        var service = newService(false);
+        service.subscriber().subscribe(SampleEvent.class, "listener", emptyConsumer());
+        service.caller().call(new SampleEvent());
+
+        assertTrue(service.listenerMetrics().isEmpty());
+    }
+
+    @Test
+    void testPlan() {
+        var registry = new ListenerMetricsRegistry<String, SampleEvent, Priority>();
+        var list = new ListenerList<>(SampleEvent.class, Priority.COMPARATOR, MeteredDispatchPlan.factory(registry, null, new DispatchInterceptor[0]));
+        list.addListener(TestHelper.newListener(emptyConsumer(), Priority.NORMAL));
+
+        var plan = assertInstanceOf(MeteredDispatchPlan.class, list.dispatchPlan(SampleEvent.class));
+        list.addListener(TestHelper.newListener(ExtendedSampleEvent.class, emptyConsumer(), Priority.NORMAL));
+        var rebuilt = assertInstanceOf(MeteredDispatchPlan.class, list.dispatchPlan(SampleEvent.class));
+        assertNotSame(plan, rebuilt);
+        assertSame(plan.recorders(), rebuilt.recorders()); // The recorders should be reused
+    }
+
+    @Test
+    void testReleaseRecorders() {
+        var registry = new ListenerMetricsRegistry<String, SampleEvent, Priority>();
+        var list = new ListenerList<>(SampleEvent.class, Priority.COMPARATOR, MeteredDispatchPlan.factory(registry, null, new DispatchInterceptor[0]));
+        var listener = TestHelper.newListener(emptyConsumer(), Priority.NORMAL);
+
+        list.addListener(listener);
+        list.addListener(listener);
+        var recorder = assertInstanceOf(MeteredDispatchPlan.class, list.dispatchPlan(SampleEvent.class)).recorders()[0];
+
+        list.removeListener(listener);
+        assertSame(recorder, registry.recorders(new SubscribedListener[]{listener})[0]); // The same instance is still subscribed
+
+        list.removeListener(listener);
+        assertNotSame(recorder, registry.recorders(new SubscribedListener[]{listener})[0]); // The recorder should be forgotten on unsubscribing
+    }
+
+    @Test
+    void testBuckets() {
+        int previous = -1;
+        for (long nanos = 0; nanos < 100_000; nanos += nanos < 64 ? 1 : nanos / 16) {
+            int index = ListenerRecorder.bucketIndex(nanos);
+            long upperBound = ListenerRecorder.bucketUpperBound(index);
+
+            assertTrue(previous <= index);
+            assertTrue(nanos <= upperBound);
+            assertTrue(upperBound - nanos <= Math.max(1, nanos / 8)); // Within 12.5%
+            previous = index;
+        }
+
+        assertTrue(ListenerRecorder.bucketIndex(Long.MAX_VALUE) >= 0);
+        assertEquals(Long.MAX_VALUE, ListenerRecorder.bucketUpperBound(ListenerRecorder.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    private static TreeEventService<String, SampleEvent, Priority> newService(boolean listenerMetrics) {
+        return TestHelper.newServiceFactory().listenerMetrics(listenerMetrics).create();
+    }
+}
@@ -31,10 +31,14 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import static dev.siroshun.event4j.tree.TestHelper.emptyConsumer;
 import static dev.siroshun.event4j.tree.TestHelper.newListenerList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ListenerSubscriberTest {
@@ -137,4 +141,57 @@ class ListenerSubscriberTest {
         assertEquals(List.of(), subscriber.listenersFor(SampleEvent.class));
         assertEquals(List.of(), subscriber.listenersFor(ExtendedSampleEvent.class));
     }
+
+    @Test
+    void testChangeSet() {
+        var subscriber = new ListenerSubscriberImpl<>(newListenerList(), Priority.NORMAL);
+        var old1 = subscriber.subscribe(SampleEvent.class, "old", emptyConsumer());
+        subscriber.subscribe(ExtendedSampleEvent.class, "old", emptyConsumer());
+        var other = subscriber.subscribe(SampleEvent.class, "other", emptyConsumer(), Priority.LOW);
+
+        var changeSet = subscriber.changeSet()
+            .removeByKey("old")
+            .remove(other)
+            .add(SampleEvent.class, "old", emptyConsumer(), Priority.HIGH)
+            .add(ExtendedSampleEvent.class, factory -> factory.key("new").consumer(emptyConsumer()));
+        assertEquals(3, subscriber.allListeners().size()); // Not applied yet
+
+        var added = changeSet.apply();
+        assertEquals(2, added.size());
+        assertEquals(Set.copyOf(added), Set.copyOf(subscriber.allListeners()));
+        assertFalse(subscriber.allListeners().contains(old1)); // Removals are applied before additions
+        assertThrows(IllegalStateException.class, changeSet::apply);
+
+        subscriber.changeSet().removeAll(added).apply();
+        assertTrue(subscriber.allListeners().isEmpty());
+    }
+
+    @Test
+    void testChangeSetRemovesOneEqualListener() {
+        var subscriber = new ListenerSubscriberImpl<>(newListenerList(), Priority.NORMAL);
+        Consumer<SampleEvent> consumer = emptyConsumer();
+        var listener = subscriber.subscribe(SampleEvent.class, "key", consumer);
+        subscriber.subscribe(SampleEvent.class, "key", consumer);
+
+        // Each removal should remove one of the equal listeners, as unsubscribe does
+        subscriber.changeSet().remove(listener).apply();
+        assertEquals(1, subscriber.allListeners().size());
+
+        subscriber.subscribe(SampleEvent.class, "key", consumer);
+        subscriber.changeSet().remove(listener).remove(listener).apply();
+        assertTrue(subscriber.allListeners().isEmpty());
+    }
+
+    @Test
+    void testUnsubscribeAllRemovesEqualListeners() {
+        var subscriber = new ListenerSubscriberImpl<>(newListenerList(), Priority.NORMAL);
+        Consumer<SampleEvent> consumer = emptyConsumer();
+        var listener = subscriber.subscribe(SampleEvent.class, "key", consumer);
+        subscriber.subscribe(SampleEvent.class, "key", consumer);
+        var other = subscriber.subscribe(SampleEvent.class, "other", consumer);
+
+        // unsubscribeAll removes every listener equal to the given ones
+        subscriber.unsubscribeAll(List.of(listener));
+        assertEquals(List.of(other), subscriber.allListeners());
+    }
 }
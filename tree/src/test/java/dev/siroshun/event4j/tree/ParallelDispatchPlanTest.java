@@ -0,0 +1,200 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.ListenerExceptionHandler;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.ExtendedSampleEvent;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import dev.siroshun.event4j.test.helper.listener.ThrowingListener;
+import org.jetbrains.annotations.NotNullByDefault;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static dev.siroshun.event4j.tree.TestHelper.emptyConsumer;
+import static dev.siroshun.event4j.tree.TestHelper.newListener;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@NotNullByDefault
+class ParallelDispatchPlanTest {
+
+    @Test
+    void testConcurrentGroup() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var list = newParallelListenerList(executor);
+            var called = Collections.synchronizedList(new ArrayList<String>());
+            var barrier = new CyclicBarrier(3);
+
+            list.holder(SampleEvent.class).modifyListeners(listeners -> {
+                listeners.add(newListener(e -> called.add("root-high"), Priority.HIGH));
+                for (int i = 0; i < 3; i++) {
+                    // Each listener waits for the others, so they never return unless called concurrently.
+                    listeners.add(newListener(e -> {
+                        await(barrier);
+                        called.add("root-normal");
+                    }, Priority.NORMAL));
+                }
+            });
+            list.holder(ExtendedSampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(ExtendedSampleEvent.class, e -> called.add("extended"), Priority.NORMAL)));
+
+            var plan = list.dispatchPlan(ExtendedSampleEvent.class);
+            assertInstanceOf(ParallelDispatchPlan.class, plan);
+            assertEquals(5, plan.post(new ExtendedSampleEvent(), ListenerExceptionHandler.continueHandler()));
+            assertEquals(List.of("extended", "root-normal", "root-normal", "root-normal", "root-high"), called);
+        }
+    }
+
+    @Test
+    void testExceptionHandling() {
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            var list = newParallelListenerList(executor);
+            var listener = ThrowingListener.<SampleEvent>create();
+            var sameGroupCounter = new AtomicInteger(0);
+            var laterGroupCounter = new AtomicInteger(0);
+
+            list.holder(SampleEvent.class).modifyListeners(listeners -> {
+                listeners.add(newListener(listener, Priority.NORMAL));
+                listeners.add(newListener(e -> sameGroupCounter.incrementAndGet(), Priority.NORMAL));
+                listeners.add(newListener(e -> laterGroupCounter.incrementAndGet(), Priority.HIGH));
+            });
+
+            var plan = list.dispatchPlan(SampleEvent.class);
+            var event = new SampleEvent();
+
+            assertEquals(3, plan.post(event, ListenerExceptionHandler.continueHandler()));
+            assertEquals(1, sameGroupCounter.getAndSet(0));
+            assertEquals(1, laterGroupCounter.getAndSet(0));
+
+            var caller = Thread.currentThread();
+            assertEquals(DispatchPlan.stopped(2), plan.post(event, (e, l, ex) -> {
+                assertSame(caller, Thread.currentThread()); // The handler should be called on the calling thread
+                assertSame(event, e);
+                assertSame(plan.listeners()[0], l);
+                assertSame(listener.originalException(), ex);
+                return ListenerExceptionHandler.Result.BREAK;
+            })); // Both listeners of the group have been reached
+            assertEquals(1, sameGroupCounter.getAndSet(0)); // The listener of the same group has been called
+            assertEquals(0, laterGroupCounter.getAndSet(0)); // The listener of the later group should NOT be called
+
+            try {
+                plan.post(event, (e, l, ex) -> ListenerExceptionHandler.Result.RETHROW);
+                Assertions.fail("Did not throw exception");
+            } catch (Throwable e) {
+                assertSame(listener.originalException(), e);
+                assertEquals(0, laterGroupCounter.getAndSet(0)); // The listener of the later group should NOT be called
+            }
+        }
+    }
+
+    @Test
+    void testRejectedExecution() {
+        var executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+
+        var list = newParallelListenerList(executor);
+        var counter = new AtomicInteger(0);
+        list.holder(SampleEvent.class).modifyListeners(listeners -> {
+            listeners.add(newListener(e -> counter.incrementAndGet(), Priority.NORMAL));
+            listeners.add(newListener(e -> counter.incrementAndGet(), Priority.NORMAL));
+        });
+
+        // Rejected listeners should be called on the calling thread
+        assertEquals(2, list.dispatchPlan(SampleEvent.class).post(new SampleEvent(), ListenerExceptionHandler.continueHandler()));
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    void testCallOnExecutorThread() throws Exception {
+        try (var executor = Executors.newFixedThreadPool(1)) {
+            var list = newParallelListenerList(executor);
+            var counter = new AtomicInteger(0);
+            list.holder(SampleEvent.class).modifyListeners(listeners -> {
+                for (int i = 0; i < 3; i++) {
+                    listeners.add(newListener(e -> counter.incrementAndGet(), Priority.NORMAL));
+                }
+            });
+
+            // The only thread of the executor dispatches the event, so the submitted tasks cannot run until it returns
+            var future = executor.submit(() -> list.dispatchPlan(SampleEvent.class).post(new SampleEvent(), ListenerExceptionHandler.continueHandler()));
+            assertEquals(3, (int) future.get(10, TimeUnit.SECONDS));
+            assertEquals(3, counter.get());
+        }
+    }
+
+    @Test
+    void testQueuedTasks() {
+        var queued = new ArrayList<Runnable>();
+        var list = newParallelListenerList(queued::add);
+        var counter = new AtomicInteger(0);
+        list.holder(SampleEvent.class).modifyListeners(listeners -> {
+            listeners.add(newListener(e -> counter.incrementAndGet(), Priority.NORMAL));
+            listeners.add(newListener(e -> counter.incrementAndGet(), Priority.NORMAL));
+        });
+
+        // Listeners whose tasks have not been started should be called on the calling thread
+        assertEquals(2, list.dispatchPlan(SampleEvent.class).post(new SampleEvent(), ListenerExceptionHandler.continueHandler()));
+        assertEquals(2, counter.get());
+
+        queued.forEach(Runnable::run); // Late tasks should not call the listeners again
+        assertEquals(2, counter.get());
+    }
+
+    @Test
+    void testWithoutGroups() {
+        var list = newParallelListenerList(Runnable::run);
+        list.holder(SampleEvent.class).modifyListeners(listeners -> {
+            listeners.add(newListener(emptyConsumer(), Priority.NORMAL));
+            listeners.add(newListener(emptyConsumer(), Priority.HIGH));
+        });
+        list.holder(ExtendedSampleEvent.class).modifyListeners(listeners -> listeners.add(newListener(ExtendedSampleEvent.class, emptyConsumer(), Priority.NORMAL)));
+
+        // Listeners of different event classes are not grouped even if their orders are the same
+        assertEquals(DispatchPlan.class, list.dispatchPlan(ExtendedSampleEvent.class).getClass());
+    }
+
+    private static ListenerList<String, SampleEvent, Priority> newParallelListenerList(Executor executor) {
+        return new ListenerList<>(SampleEvent.class, Priority.COMPARATOR, ParallelDispatchPlan.factory(executor, Priority.COMPARATOR));
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ *     Copyright (c) 2020-2025 Siroshun09
+ *
+ *     This file is part of event4j.
+ *
+ *     Permission is hereby granted, free of charge, to any person obtaining a copy
+ *     of this software and associated documentation files (the "Software"), to deal
+ *     in the Software without restriction, including without limitation the rights
+ *     to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ *     copies of the Software, and to permit persons to whom the Software is
+ *     furnished to do so, subject to the following conditions:
+ *
+ *     The above copyright notice and this permission notice shall be included in all
+ *     copies or substantial portions of the Software.
+ *
+ *     THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *     IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *     FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *     AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *     LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *     OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ *     SOFTWARE.
+ */
+
+package dev.siroshun.event4j.tree;
+
+import dev.siroshun.event4j.api.listener.SlowListenerHandler;
+import dev.siroshun.event4j.api.priority.Priority;
+import dev.siroshun.event4j.test.helper.event.SampleEvent;
+import org.jetbrains.annotations.NotNullByDefault;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@NotNullByDefault
+class SlowListenerWatchdogTest {
+
+    private static final Duration BUDGET = Duration.ofMillis(1);
+
+    @Test
+    void testViolations() {
+        var violations = new ArrayList<Integer>();
+        var service = newService(SlowListenerWatchdogTest::slowBudget, (event, listener, elapsed, budget, count) -> {
+            assertEquals("slow", listener.key());
+            assertSame(BUDGET, budget);
+            assertTrue(budget.compareTo(elapsed) < 0);
+            violations.add(count);
+            return SlowListenerHandler.Result.CONTINUE;
+        });
+
+        var slowCalls = new AtomicInteger();
+        service.subscriber().subscribe(SampleEvent.class, "slow", event -> {
+            slowCalls.incrementAndGet();
+            LockSupport.parkNanos(BUDGET.toNanos() * 2);
+        });
+        // Not watched, so that a slow machine does not make it exceed the budget
+        service.subscriber().subscribe(SampleEvent.class, "fast", event -> {
+        });
+
+        for (int i = 0; i < 3; i++) {
+            service.caller().call(new SampleEvent());
+        }
+
+        assertEquals(3, slowCalls.get());
+        assertEquals(List.of(1, 2, 3), violations);
+    }
+
+    @Test
+    void testQuarantine() {
+        var service = newService(SlowListenerWatchdogTest::slowBudget, SlowListenerHandler.quarantineAfter(2));
+        var slowCalls = new AtomicInteger();
+        var otherCalls = new AtomicInteger();
+        Consumer<SampleEvent> consumer = event -> {
+            slowCalls.incrementAndGet();
+            LockSupport.parkNanos(BUDGET.toNanos() * 2);
+        };
+
+        var slow = service.subscriber().subscribe(SampleEvent.class, "slow", consumer);
+        service.subscriber().subscribe(SampleEvent.class, "other", event -> otherCalls.incrementAndGet(), Priority.LOW);
+
+        for (int i = 0; i < 5; i++) {
+            service.caller().call(new SampleEvent());
+        }
+
+        assertEquals(2, slowCalls.get()); // Quarantined after the second violation
+        assertEquals(5, otherCalls.get());
+
+        service.subscriber().unsubscribe(slow);
+        service.subscriber().subscribe(SampleEvent.class, "slow", consumer); // Equal to the unsubscribed listener
+        service.caller().call(new SampleEvent());
+        assertEquals(3, slowCalls.get()); // A listener subscribed again has a new budget
+    }
+
+    @Test
+    void testEqualListeners() {
+        var violations = new ArrayList<Integer>();
+        var service = newService(SlowListenerWatchdogTest::slowBudget, (event, listener, elapsed, budget, count) -> {
+            violations.add(count);
+            return SlowListenerHandler.Result.CONTINUE;
+        });
+        Consumer<SampleEvent> consumer = event -> LockSupport.parkNanos(BUDGET.toNanos() * 2);
+
+        service.subscriber().subscribe(SampleEvent.class, "slow", consumer);
+        service.subscriber().subscribe(SampleEvent.class, "slow", consumer);
+        service.caller().call(new SampleEvent());
+
+        assertEquals(List.of(1, 1), violations); // Equal listeners should not share a budget
+    }
+
+    @Test
+    void testUnwatchedKey() {
+        var service = newService(key -> key.equals("watched") ? BUDGET : null, (event, listener, elapsed, budget, count) -> {
+            assertEquals("watched", listener.key());
+            return SlowListenerHandler.Result.QUARANTINE;
+        });
+        var unwatchedCalls = new AtomicInteger();
+
+        service.subscriber().subscribe(SampleEvent.class, "unwatched", event -> {
+            unwatchedCalls.incrementAndGet();
+            LockSupport.parkNanos(BUDGET.toNanos() * 2);
+        });
+
+        service.caller().call(new SampleEvent());
+        service.caller().call(new SampleEvent());
+        assertEquals(2, unwatchedCalls.get());
+    }
+
+    @Test
+    void testWithMetrics() {
+        var service = TestHelper.newServiceFactory()
+            .listenerMetrics(true)
+            .slowListenerWatchdog(BUDGET, SlowListenerHandler.continueHandler())
+            .create();
+        service.subscriber().subscribe(SampleEvent.class, "listener", event -> {
+        });
+        service.caller().call(new SampleEvent());
+
+        assertEquals(1, service.listenerMetrics().getFirst().invocations());
+    }
+
+    @Test
+    void testQuarantineAfter() {
+        assertThrows(IllegalArgumentException.class, () -> SlowListenerHandler.quarantineAfter(0));
+    }
+
+    private static @Nullable Duration slowBudget(String key) {
+        return key.equals("slow") ? BUDGET : null;
+    }
+
+    private static TreeEventService<String, SampleEvent, Priority> newService(Function<? super String, @Nullable Duration> budgets,
+                                                                              SlowListenerHandler<String, SampleEvent, Priority> handler) {
+        return TestHelper.newServiceFactory().slowListenerWatchdog(budgets, handler).create();
+    }
+}
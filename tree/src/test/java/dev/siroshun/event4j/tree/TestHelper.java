@@ -38,6 +38,17 @@ final class TestHelper {
         return new ListenerList<>(SampleEvent.class, Priority.COMPARATOR);
     }
 
+    static ListenerList<String, SampleEvent, Priority> newIntOrderListenerList() {
+        return new ListenerList<>(SampleEvent.class, Priority.COMPARATOR, Priority::value, DispatchPlan::create);
+    }
+
+    static TreeEventService.Factory<String, SampleEvent, Priority> newServiceFactory() {
+        return TreeEventService.factory()
+            .keyClass(String.class)
+            .eventClass(SampleEvent.class)
+            .defaultOrder(Priority.NORMAL);
+    }
+
     static SubscribedListenerImpl<String, SampleEvent, Priority> newListener(Consumer<SampleEvent> listener, Priority priority) {
         return newListener(SampleEvent.class, listener, priority);
     }